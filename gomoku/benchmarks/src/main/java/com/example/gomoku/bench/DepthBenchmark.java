@@ -0,0 +1,44 @@
+package com.example.gomoku.bench;
+
+import com.example.gomoku.ai.EvaluationFunction;
+import com.example.gomoku.ai.MinimaxSearch;
+import com.example.gomoku.ai.MoveGenerator;
+import com.example.gomoku.ai.SearchStats;
+import com.example.gomoku.ai.TranspositionTable;
+import com.example.gomoku.model.GameBoard;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Usage: DepthBenchmark [timeMs] [threads] [plies] [boardSizes...]
+// Gives the corpus games of each board size, cut off after the given plies, the same time
+// per move and prints the depth the search completed, to check that larger boards search as
+// deep as 10x10. The full 16-ply positions mostly end in a threat-space win before that.
+public class DepthBenchmark {
+    private static final int MAX_DEPTH = 64;
+
+    public static void main(String[] args) {
+        long timeMs = args.length > 0 ? Long.parseLong(args[0]) : 3000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        int plies = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        int[] sizes = {10, 15, 19};
+        if (args.length > 3) {
+            sizes = new int[args.length - 3];
+            for (int i = 3; i < args.length; i++) sizes[i - 3] = Integer.parseInt(args[i]);
+        }
+
+        System.out.printf("%d ms per position, %d threads, %d plies%n", timeMs, threads, plies);
+        System.out.printf("%6s %8s %6s %12s %12s %12s%n", "size", "position", "depth", "nodes", "nodes/s", "stop");
+        for (int size : sizes) {
+            int position = 0;
+            for (GameBoard board : Positions.forSize(size, plies)) {
+                MinimaxSearch search = new MinimaxSearch(new EvaluationFunction(), new MoveGenerator(2), new TranspositionTable(), threads);
+                search.searchMove(board, MAX_DEPTH, GameBoard.BLACK, GameBoard.WHITE, timeMs, new AtomicBoolean(false));
+                SearchStats stats = search.getLastStats();
+                double seconds = stats.getElapsedNanos() / 1e9;
+                System.out.printf("%6d %8d %6d %12d %,12.0f %12s%n", size, position++, stats.getCompletedDepth(),
+                    stats.getNodes(), stats.getNodes() / seconds, stats.getStopReason());
+                search.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.gomoku.bench;
+
+import com.example.gomoku.ai.EvaluationFunction;
+import com.example.gomoku.ai.MinimaxSearch;
+import com.example.gomoku.ai.MoveEvaluation;
+import com.example.gomoku.ai.MoveGenerator;
+import com.example.gomoku.model.BitBoard;
+import com.example.gomoku.model.GameBoard;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Usage: FixedDepthBenchmark [boardSize] [depth]
+// Searches every corpus position to a fixed depth without a time limit and prints the
+// nodes and time needed, to compare move ordering and pruning changes.
+public class FixedDepthBenchmark {
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        List<BitBoard> positions = Positions.forSize(size);
+
+        System.out.printf("%dx%d board, depth %d%n", size, size, depth);
+        System.out.printf("%8s %12s %10s %10s %8s%n", "position", "nodes", "ms", "score", "move");
+
+        long totalNodes = 0;
+        long totalMs = 0;
+        for (int i = 0; i < positions.size(); i++) {
+            MinimaxSearch search = new MinimaxSearch(new EvaluationFunction(), new MoveGenerator(2));
+            long start = System.nanoTime();
+            MoveEvaluation result = search.search(positions.get(i).copy(), depth, GameBoard.BLACK, GameBoard.WHITE, Long.MAX_VALUE / 4, new AtomicBoolean(false));
+            long ms = (System.nanoTime() - start) / 1_000_000;
+            totalNodes += search.getNodeCount();
+            totalMs += ms;
+            String move = result.move == null ? "-" : result.move.getRow() + "," + result.move.getCol();
+            System.out.printf("%8d %12d %10d %10d %8s%n", i, search.getNodeCount(), ms, result.score, move);
+        }
+        System.out.printf("%8s %12d %10d%n", "total", totalNodes, totalMs);
+    }
+}
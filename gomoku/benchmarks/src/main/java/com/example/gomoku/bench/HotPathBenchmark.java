@@ -0,0 +1,65 @@
+package com.example.gomoku.bench;
+
+import com.example.gomoku.ai.EvaluationFunction;
+import com.example.gomoku.ai.MoveGenerator;
+import com.example.gomoku.game.WinChecker;
+import com.example.gomoku.model.Board;
+import com.example.gomoku.model.GameBoard;
+import com.example.gomoku.model.GomokuMove;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JMH: the per-node operations of the search on every corpus position.
+// Run with: java -jar target/benchmarks.jar HotPathBenchmark -prof gc
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HotPathBenchmark {
+    private final EvaluationFunction eval = new EvaluationFunction();
+    private final MoveGenerator generator = new MoveGenerator(2);
+
+    @Benchmark
+    public Board copyBoard(PositionState state) {
+        return state.board.copy();
+    }
+
+    // Checks a win through every stone, as after each move of the position.
+    @Benchmark
+    public void checkWin(PositionState state, Blackhole blackhole) {
+        int n = state.size;
+        for (int cell : state.stones) {
+            int row = cell / n, col = cell % n;
+            blackhole.consume(WinChecker.checkWin(state.board, row, col, state.board.getSymbolAt(row, col)));
+        }
+    }
+
+    @Benchmark
+    public boolean checkWinAnywhere(PositionState state) {
+        return WinChecker.checkWinAnywhere(state.board, GameBoard.BLACK);
+    }
+
+    @Benchmark
+    public int evaluate(PositionState state) {
+        return eval.evaluate(state.board, GameBoard.BLACK, GameBoard.WHITE);
+    }
+
+    @Benchmark
+    public List<GomokuMove> generateMoves(PositionState state) {
+        return generator.generateMoves(state.board, GameBoard.BLACK);
+    }
+}
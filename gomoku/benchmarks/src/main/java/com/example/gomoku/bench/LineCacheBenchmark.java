@@ -0,0 +1,67 @@
+package com.example.gomoku.bench;
+
+import com.example.gomoku.ai.EvaluationFunction;
+import com.example.gomoku.ai.IncrementalEvaluator;
+import com.example.gomoku.ai.LineCache;
+import com.example.gomoku.model.BitBoard;
+import com.example.gomoku.model.GameBoard;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// JMH: incremental evaluation with and without a LineCache. For every empty cell it scores
+// the move for ordering, then places a stone, evaluates and takes it back, as a search node does.
+// Run with: java -jar target/benchmarks.jar LineCacheBenchmark
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LineCacheBenchmark {
+    @Param({"0", "12"})
+    public int lineCacheBits;
+
+    private BitBoard board;
+    private IncrementalEvaluator evaluator;
+
+    @Setup
+    public void track(PositionState state) {
+        board = state.bitBoard.copy();
+        evaluator = new EvaluationFunction(lineCacheBits).track(board);
+    }
+
+    @TearDown
+    public void report() {
+        LineCache cache = evaluator.getLineCache();
+        if (cache != null) System.out.printf("%nline cache hit rate %.3f%n", cache.getHitRate());
+        evaluator.detach();
+    }
+
+    @Benchmark
+    public void placeAndEvaluate(Blackhole blackhole) {
+        int n = board.getSize();
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                if (board.getSymbolAt(r, c) != GameBoard.EMPTY) continue;
+                blackhole.consume(evaluator.moveGain(r, c, GameBoard.BLACK));
+                board.placeSymbol(r, c, GameBoard.BLACK);
+                blackhole.consume(evaluator.evaluate(GameBoard.BLACK, GameBoard.WHITE));
+                board.setSymbolAt(r, c, GameBoard.EMPTY);
+            }
+        }
+    }
+}
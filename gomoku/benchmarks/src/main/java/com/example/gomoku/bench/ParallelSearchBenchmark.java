@@ -0,0 +1,56 @@
+package com.example.gomoku.bench;
+
+import com.example.gomoku.ai.EvaluationFunction;
+import com.example.gomoku.ai.MinimaxSearch;
+import com.example.gomoku.ai.MoveGenerator;
+import com.example.gomoku.ai.TranspositionTable;
+import com.example.gomoku.model.BitBoard;
+import com.example.gomoku.model.GameBoard;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Usage: ParallelSearchBenchmark [boardSize] [timeLimitMs] [maxThreads]
+// Searches every corpus position for the time limit with 1, 2, 4 ... maxThreads threads
+// and prints the average depth completed and nodes per second for each thread count.
+public class ParallelSearchBenchmark {
+    private static final int MAX_DEPTH = 64;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int timeLimitMs = args.length > 1 ? Integer.parseInt(args[1]) : 3000;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        List<BitBoard> positions = Positions.forSize(size);
+
+        // Warm up the JIT so the single-threaded row is not penalised.
+        MinimaxSearch warmup = new MinimaxSearch(new EvaluationFunction(), new MoveGenerator(2));
+        for (BitBoard position : positions) {
+            warmup.search(position.copy(), MAX_DEPTH, GameBoard.BLACK, GameBoard.WHITE, timeLimitMs, new AtomicBoolean(false));
+        }
+
+        System.out.printf("%dx%d board, %d positions, %d ms per search%n", size, size, positions.size(), timeLimitMs);
+        System.out.printf("%8s %10s %14s %10s%n", "threads", "avg depth", "nodes/sec", "speedup");
+
+        double baseline = 0;
+        for (int threads = 1; threads <= maxThreads; threads = threads < maxThreads && threads * 2 > maxThreads ? maxThreads : threads * 2) {
+            MinimaxSearch search = new MinimaxSearch(new EvaluationFunction(), new MoveGenerator(2), new TranspositionTable(20), threads);
+            long nodes = 0;
+            long elapsedNs = 0;
+            int depthSum = 0;
+            for (BitBoard position : positions) {
+                search.getTranspositionTable().clear();
+                long start = System.nanoTime();
+                search.search(position.copy(), MAX_DEPTH, GameBoard.BLACK, GameBoard.WHITE, timeLimitMs, new AtomicBoolean(false));
+                elapsedNs += System.nanoTime() - start;
+                nodes += search.getNodeCount();
+                depthSum += search.getCompletedDepth();
+            }
+            search.shutdown();
+
+            double nps = nodes / (elapsedNs / 1e9);
+            if (threads == 1) baseline = nps;
+            System.out.printf("%8d %10.2f %14.0f %9.2fx%n", threads, (double) depthSum / positions.size(), nps, nps / baseline);
+            if (threads == maxThreads) break;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.gomoku.bench;
+
+import com.example.gomoku.model.BitBoard;
+import com.example.gomoku.model.Board;
+import com.example.gomoku.model.GameBoard;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+
+// One corpus position per benchmark run, as both board implementations, with the cells
+// of its stones for the win checks.
+@State(Scope.Thread)
+public class PositionState {
+    @Param({"10", "15", "19"})
+    public int size;
+
+    @Param({"0", "1", "2", "3"})
+    public int position;
+
+    public BitBoard bitBoard;
+    public Board board;
+    public int[] stones;
+
+    @Setup
+    public void load() {
+        bitBoard = Positions.forSize(size).get(position);
+        board = new Board(size);
+        int count = 0;
+        int[] cells = new int[size * size];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                char symbol = bitBoard.getSymbolAt(r, c);
+                if (symbol == GameBoard.EMPTY) continue;
+                board.placeSymbol(r, c, symbol);
+                cells[count++] = r * size + c;
+            }
+        }
+        stones = Arrays.copyOf(cells, count);
+    }
+}
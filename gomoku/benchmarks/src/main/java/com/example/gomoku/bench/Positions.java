@@ -0,0 +1,70 @@
+package com.example.gomoku.bench;
+
+import com.example.gomoku.model.BitBoard;
+import com.example.gomoku.model.GameBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Mid-game positions from engine self-play, 16 plies each with Black to move.
+// Moves are "row,col" pairs alternating Black and White.
+public final class Positions {
+    private static final String[] SIZE_10 = {
+        "6,3 7,7 4,5 7,8 5,4 3,6 7,2 8,1 8,5 7,6 7,5 4,1 7,4 7,9 7,3 7,1",
+        "5,7 5,5 3,7 4,6 4,7 2,7 6,7 7,7 6,6 6,4 7,3 7,5 6,5 6,8 5,6 3,8",
+        "5,4 6,5 4,3 5,6 5,2 4,7 7,4 3,8 2,9 7,5 3,4 6,1 2,5 1,6 4,4 6,4",
+        "5,4 5,3 5,5 6,4 7,5 7,6 6,5 4,5 8,5 9,5 5,6 5,7 4,7 7,4 3,8 2,9",
+    };
+
+    private static final String[] SIZE_15 = {
+        "5,5 8,9 9,8 9,10 7,8 10,11 8,8 11,12 12,13 10,8 6,8 5,8 7,7 10,9 6,6 14,14",
+        "7,9 7,7 5,9 8,8 6,9 4,9 6,5 5,5 8,9 9,9 6,6 10,10 11,11 4,8 6,7 6,8",
+        "7,6 8,7 6,5 7,8 7,5 6,9 5,10 9,6 10,5 9,7 5,5 8,5 4,5 3,5 7,4 7,3",
+        "7,6 7,5 7,7 6,6 7,8 5,10 7,9 7,10 6,8 5,7 4,8 8,4 9,3 5,8 5,9 4,10",
+    };
+
+    private static final String[] SIZE_19 = {
+        "7,7 10,11 11,10 9,10 8,9 9,11 8,8 8,11 11,11 7,11 6,11 7,12 10,9 6,13 5,14 7,14",
+        "9,11 9,9 7,11 8,10 8,11 6,11 10,11 11,11 10,10 10,8 7,13 11,7 12,6 8,12 7,15 7,12",
+        "9,8 10,9 8,7 9,10 10,7 8,11 11,8 7,12 6,13 8,9 9,6 12,9 8,5 7,4 11,7 11,9",
+        "9,8 9,7 9,9 10,8 11,9 11,7 10,9 8,9 12,9 13,9 8,7 11,10 7,6 6,5 12,8 6,4",
+    };
+
+    private Positions() {
+    }
+
+    public static List<BitBoard> forSize(int size) {
+        return forSize(size, Integer.MAX_VALUE);
+    }
+
+    // The same games cut off after the given number of plies.
+    public static List<BitBoard> forSize(int size, int plies) {
+        String[] encoded;
+        if (size == 10) encoded = SIZE_10;
+        else if (size == 15) encoded = SIZE_15;
+        else if (size == 19) encoded = SIZE_19;
+        else throw new IllegalArgumentException("No positions for board size " + size);
+
+        List<BitBoard> boards = new ArrayList<>(encoded.length);
+        for (String moves : encoded) {
+            boards.add(parse(size, moves, plies));
+        }
+        return boards;
+    }
+
+    public static BitBoard parse(int size, String moves) {
+        return parse(size, moves, Integer.MAX_VALUE);
+    }
+
+    public static BitBoard parse(int size, String moves, int plies) {
+        BitBoard board = new BitBoard(size);
+        char symbol = GameBoard.BLACK;
+        for (String move : moves.trim().split("\\s+")) {
+            if (board.getStoneCount() == plies) break;
+            String[] parts = move.split(",");
+            board.placeSymbol(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), symbol);
+            symbol = symbol == GameBoard.BLACK ? GameBoard.WHITE : GameBoard.BLACK;
+        }
+        return board;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.gomoku.bench;
+
+import com.example.gomoku.ai.EvaluationFunction;
+import com.example.gomoku.ai.MinimaxSearch;
+import com.example.gomoku.ai.MoveEvaluation;
+import com.example.gomoku.ai.MoveGenerator;
+import com.example.gomoku.model.GameBoard;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// JMH: a complete single-threaded search of each corpus position to a fixed depth. The
+// table is cleared before every search so each one starts cold, as FixedDepthBenchmark does.
+// Run with: java -jar target/benchmarks.jar SearchBenchmark -p depth=5 -prof gc
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+    @Param({"3"})
+    public int depth;
+
+    private final AtomicBoolean abortFlag = new AtomicBoolean(false);
+    private MinimaxSearch search;
+
+    @Setup(Level.Trial)
+    public void createSearch() {
+        search = new MinimaxSearch(new EvaluationFunction(), new MoveGenerator(2));
+        search.setSeed(1);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        search.getTranspositionTable().clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        search.shutdown();
+    }
+
+    @Benchmark
+    public MoveEvaluation search(PositionState state) {
+        return search.search(state.bitBoard, depth, GameBoard.BLACK, GameBoard.WHITE, Long.MAX_VALUE / 4, abortFlag);
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.gomoku;
+
+import com.example.gomoku.ai.EvaluationFunction;
+import com.example.gomoku.ai.MinimaxSearch;
+import com.example.gomoku.ai.MoveGenerator;
+import com.example.gomoku.ai.PackedMove;
+import com.example.gomoku.ai.TranspositionTable;
+import com.example.gomoku.model.BitBoard;
+import com.example.gomoku.model.GameBoard;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Usage: PiskvorkEngine [threads]
+// Plays through the Piskvork (Gomocup) protocol on stdin/stdout for match managers and
+// scripts. Coordinates are "x,y" with x the column. It touches no JavaFX class, so
+// "java -cp gomoku.jar com.example.gomoku.PiskvorkEngine" starts without the toolkit.
+public class PiskvorkEngine {
+    private static final int MAX_DEPTH = 64;
+    private static final int MIN_SIZE = 5;
+    private static final int MAX_SIZE = 32;
+    // Kept back from every limit for reading the command, answering and the manager's clock.
+    private static final long SAFETY_MS = 100;
+    private static final long MIN_MOVE_MS = 10;
+    // A share of the remaining match time is spent on each move.
+    private static final int MATCH_MOVES_LEFT = 20;
+
+    private final BufferedReader in;
+    private final PrintStream out;
+    private final MinimaxSearch search;
+    private BitBoard board;
+    private char own = GameBoard.BLACK;
+    private long turnTimeMs = 5000;
+    private long matchTimeMs;
+    private long timeLeftMs = Long.MAX_VALUE;
+
+    public PiskvorkEngine(BufferedReader in, PrintStream out, int threads) {
+        this.in = in;
+        this.out = out;
+        this.search = new MinimaxSearch(new EvaluationFunction(), new MoveGenerator(2), new TranspositionTable(), threads);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        PrintStream out = new PrintStream(System.out, false, "UTF-8");
+        new PiskvorkEngine(in, out, threads).run();
+    }
+
+    public void run() throws IOException {
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                long received = System.currentTimeMillis();
+                line = line.trim();
+                if (line.isEmpty()) continue;
+                if (!handle(line, received)) break;
+                out.flush();
+            }
+        } finally {
+            out.flush();
+            search.shutdown();
+        }
+    }
+
+    // Returns false on END.
+    private boolean handle(String line, long received) throws IOException {
+        int space = line.indexOf(' ');
+        String command = (space < 0 ? line : line.substring(0, space)).toUpperCase();
+        String argument = space < 0 ? "" : line.substring(space + 1).trim();
+        try {
+            switch (command) {
+                case "START":
+                    start(Integer.parseInt(argument));
+                    break;
+                case "RECTSTART":
+                    out.println("ERROR rectangular boards are not supported");
+                    break;
+                case "RESTART":
+                    requireBoard();
+                    start(board.getSize());
+                    break;
+                case "BEGIN":
+                    requireBoard();
+                    own = GameBoard.BLACK;
+                    play(received);
+                    break;
+                case "TURN":
+                    turn(argument, received);
+                    break;
+                case "BOARD":
+                    board(received);
+                    break;
+                case "TAKEBACK":
+                    takeback(argument);
+                    break;
+                case "INFO":
+                    info(argument);
+                    break;
+                case "ABOUT":
+                    out.println("name=\"Gomoku\", version=\"1.0\", author=\"ruzhanreaz\", country=\"-\"");
+                    break;
+                case "END":
+                    return false;
+                default:
+                    out.println("UNKNOWN " + command);
+            }
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            out.println("ERROR " + e.getMessage());
+        }
+        return true;
+    }
+
+    private void start(int size) {
+        if (size < MIN_SIZE || size > MAX_SIZE) throw new IllegalArgumentException("unsupported board size " + size);
+        board = new BitBoard(size);
+        search.getTranspositionTable().clear();
+        out.println("OK");
+    }
+
+    private void turn(String argument, long received) {
+        requireBoard();
+        int[] cell = parseCell(argument);
+        // A TURN before any move of ours means the opponent opened the game.
+        if (board.getStoneCount() == 0) own = GameBoard.WHITE;
+        place(cell[0], cell[1], opponent());
+        play(received);
+    }
+
+    // Lines of "x,y,who" up to DONE, where who is 1 for our stones and 2 for the opponent's.
+    private void board(long received) throws IOException {
+        requireBoard();
+        board.clear();
+        int ownStones = 0;
+        int opponentStones = 0;
+        List<int[]> stones = new ArrayList<>();
+        String line;
+        while ((line = in.readLine()) != null && !line.trim().equalsIgnoreCase("DONE")) {
+            String[] parts = line.trim().split(",");
+            if (parts.length != 3) throw new IllegalArgumentException("bad BOARD line: " + line);
+            int who = Integer.parseInt(parts[2].trim());
+            if (who == 1) ownStones++;
+            else if (who == 2) opponentStones++;
+            else throw new IllegalArgumentException("bad BOARD line: " + line);
+            stones.add(new int[] {Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()), who});
+        }
+        // With us to move, we moved first exactly when the stone counts are equal.
+        own = ownStones == opponentStones ? GameBoard.BLACK : GameBoard.WHITE;
+        for (int[] stone : stones) {
+            place(stone[0], stone[1], stone[2] == 1 ? own : opponent());
+        }
+        play(received);
+    }
+
+    private void takeback(String argument) {
+        requireBoard();
+        int[] cell = parseCell(argument);
+        if (board.getSymbolAt(cell[1], cell[0]) == GameBoard.EMPTY) throw new IllegalArgumentException("no stone at " + argument);
+        board.setSymbolAt(cell[1], cell[0], GameBoard.EMPTY);
+        out.println("OK");
+    }
+
+    // Times are in milliseconds; a match time of 0 means no match limit and a turn time of 0
+    // the fastest move.
+    private void info(String argument) {
+        String[] parts = argument.split("\\s+", 2);
+        if (parts.length < 2) return;
+        String key = parts[0].toLowerCase();
+        if (key.equals("timeout_turn")) turnTimeMs = Long.parseLong(parts[1].trim());
+        else if (key.equals("timeout_match")) matchTimeMs = Long.parseLong(parts[1].trim());
+        else if (key.equals("time_left")) timeLeftMs = Long.parseLong(parts[1].trim());
+    }
+
+    private void play(long received) {
+        long limit = moveTimeMs() - (System.currentTimeMillis() - received);
+        int move = search.searchMove(board, MAX_DEPTH, own, opponent(), Math.max(MIN_MOVE_MS, limit), new AtomicBoolean(false));
+        if (move == PackedMove.NONE) throw new IllegalStateException("no move left on the board");
+        int row = PackedMove.row(move);
+        int col = PackedMove.col(move);
+        board.placeSymbol(row, col, own);
+        out.println(col + "," + row);
+    }
+
+    // The turn limit, or a share of the match time left when that is smaller. A turn limit of
+    // 0 asks for a move as fast as possible; only a match limit of 0 means none.
+    private long moveTimeMs() {
+        if (turnTimeMs == 0) return MIN_MOVE_MS;
+        long limit = turnTimeMs;
+        if (matchTimeMs > 0 && timeLeftMs != Long.MAX_VALUE) limit = Math.min(limit, timeLeftMs / MATCH_MOVES_LEFT);
+        return Math.max(MIN_MOVE_MS, limit - SAFETY_MS);
+    }
+
+    private void place(int x, int y, char symbol) {
+        if (!board.placeSymbol(y, x, symbol)) throw new IllegalArgumentException("illegal move " + x + "," + y);
+    }
+
+    private int[] parseCell(String argument) {
+        String[] parts = argument.split(",");
+        if (parts.length != 2) throw new IllegalArgumentException("expected x,y: " + argument);
+        int x = Integer.parseInt(parts[0].trim());
+        int y = Integer.parseInt(parts[1].trim());
+        if (x < 0 || y < 0 || x >= board.getSize() || y >= board.getSize()) throw new IllegalArgumentException("off the board: " + argument);
+        return new int[] {x, y};
+    }
+
+    private void requireBoard() {
+        if (board == null) throw new IllegalStateException("START has not been sent");
+    }
+
+    private char opponent() {
+        return own == GameBoard.BLACK ? GameBoard.WHITE : GameBoard.BLACK;
+    }
+}
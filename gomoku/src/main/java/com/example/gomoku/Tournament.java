@@ -0,0 +1,285 @@
+package com.example.gomoku;
+
+import com.example.gomoku.ai.AIPlayer;
+import com.example.gomoku.ai.EvaluationFunction;
+import com.example.gomoku.ai.MinimaxSearch;
+import com.example.gomoku.ai.MoveGenerator;
+import com.example.gomoku.ai.TimeManager;
+import com.example.gomoku.ai.TranspositionTable;
+import com.example.gomoku.game.WinChecker;
+import com.example.gomoku.model.BitBoard;
+import com.example.gomoku.model.GameBoard;
+import com.example.gomoku.model.GomokuMove;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Usage: Tournament [games] [threads] [boardSize] [engine A] [engine B] [seed]
+// Engines are given as depth,ms,radius[,adaptive|fixed[,nodeBudget]].
+// Plays engine A against engine B without JavaFX, one game per worker thread at a time.
+// Games come in pairs that share a random two-move opening with the colours swapped.
+// Each result is printed as the game finishes; only running totals are kept.
+public class Tournament {
+    private static final int OPENING_SPREAD = 2;
+
+    private final int games;
+    private final int boardSize;
+    private final EngineConfig configA;
+    private final EngineConfig configB;
+    private final long seed;
+    private final AtomicInteger nextGame = new AtomicInteger();
+    private final Score score = new Score();
+
+    public Tournament(int games, int boardSize, EngineConfig configA, EngineConfig configB, long seed) {
+        this.games = games;
+        this.boardSize = boardSize;
+        this.configA = configA;
+        this.configB = configB;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int size = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        EngineConfig a = EngineConfig.parse(args.length > 3 ? args[3] : "5,1000,2");
+        EngineConfig b = EngineConfig.parse(args.length > 4 ? args[4] : "5,1000,2");
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+
+        System.out.printf("%d games on %dx%d with %d threads, A=%s B=%s, seed %d%n", games, size, size, threads, a, b, seed);
+        Tournament tournament = new Tournament(games, size, a, b, seed);
+        long start = System.nanoTime();
+        tournament.run(threads);
+        tournament.score.printSummary((System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void run(int threads) throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(this::work, "Tournament-" + i);
+            workers[i].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    // Each worker keeps one search per side and claims game numbers until none are left.
+    private void work() {
+        Engine a = new Engine(configA);
+        Engine b = new Engine(configB);
+        try {
+            for (int game = nextGame.getAndIncrement(); game < games; game = nextGame.getAndIncrement()) {
+                try {
+                    play(game, a, b);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+            }
+        } finally {
+            a.search.shutdown();
+            b.search.shutdown();
+        }
+    }
+
+    private void play(int game, Engine a, Engine b) {
+        boolean aBlack = game % 2 == 0;
+        Engine black = aBlack ? a : b;
+        Engine white = aBlack ? b : a;
+        black.newGame(GameBoard.BLACK, seed + game);
+        white.newGame(GameBoard.WHITE, seed + game);
+
+        BitBoard board = new BitBoard(boardSize);
+        playOpening(board, new Random(seed + game / 2));
+        char toMove = board.getStoneCount() % 2 == 0 ? GameBoard.BLACK : GameBoard.WHITE;
+        char winner = GameBoard.EMPTY;
+        AtomicBoolean abortFlag = new AtomicBoolean(false);
+        while (!board.isFull()) {
+            Engine engine = toMove == GameBoard.BLACK ? black : white;
+            GomokuMove move = engine.move(board, abortFlag);
+            if (move == null || !board.placeSymbol(move.getRow(), move.getCol(), toMove)) {
+                // An engine without a legal move forfeits.
+                winner = toMove == GameBoard.BLACK ? GameBoard.WHITE : GameBoard.BLACK;
+                break;
+            }
+            if (WinChecker.checkWin(board, move.getRow(), move.getCol(), toMove)) {
+                winner = toMove;
+                break;
+            }
+            toMove = toMove == GameBoard.BLACK ? GameBoard.WHITE : GameBoard.BLACK;
+        }
+
+        char aSymbol = aBlack ? GameBoard.BLACK : GameBoard.WHITE;
+        int result = winner == GameBoard.EMPTY ? Score.DRAW : winner == aSymbol ? Score.WIN : Score.LOSS;
+        long aNanos = a.takeNanos();
+        long bNanos = b.takeNanos();
+        score.record(game, aBlack, result, board.getStoneCount(), a.takeNodes() + b.takeNodes(), aNanos, a.takeMoves(), bNanos, b.takeMoves());
+    }
+
+    // Black's first stone near the centre and White's reply next to it.
+    private void playOpening(BitBoard board, Random random) {
+        int centre = boardSize / 2;
+        int row = centre + random.nextInt(2 * OPENING_SPREAD + 1) - OPENING_SPREAD;
+        int col = centre + random.nextInt(2 * OPENING_SPREAD + 1) - OPENING_SPREAD;
+        board.placeSymbol(row, col, GameBoard.BLACK);
+        while (true) {
+            int r = row + random.nextInt(3) - 1;
+            int c = col + random.nextInt(3) - 1;
+            if (board.placeSymbol(r, c, GameBoard.WHITE)) return;
+        }
+    }
+
+    public static class EngineConfig {
+        public final int depth;
+        public final int timeLimitMs;
+        public final int radius;
+        public final boolean adaptive;
+        public final long nodeBudget;
+
+        public EngineConfig(int depth, int timeLimitMs, int radius) {
+            this(depth, timeLimitMs, radius, true, 0);
+        }
+
+        public EngineConfig(int depth, int timeLimitMs, int radius, boolean adaptive, long nodeBudget) {
+            this.depth = depth;
+            this.timeLimitMs = timeLimitMs;
+            this.radius = radius;
+            this.adaptive = adaptive;
+            this.nodeBudget = nodeBudget;
+        }
+
+        // Parses "depth,ms,radius", optionally followed by "adaptive" or "fixed" time
+        // management and a node budget per move.
+        public static EngineConfig parse(String text) {
+            String[] parts = text.split(",");
+            if (parts.length < 3 || parts.length > 5) {
+                throw new IllegalArgumentException("Expected depth,ms,radius[,adaptive|fixed[,nodeBudget]]: " + text);
+            }
+            boolean adaptive = true;
+            if (parts.length > 3) {
+                String mode = parts[3].trim();
+                if (!mode.equals("adaptive") && !mode.equals("fixed")) throw new IllegalArgumentException("Unknown time management: " + mode);
+                adaptive = mode.equals("adaptive");
+            }
+            long nodeBudget = parts.length > 4 ? Long.parseLong(parts[4].trim()) : 0;
+            return new EngineConfig(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()), Integer.parseInt(parts[2].trim()), adaptive, nodeBudget);
+        }
+
+        @Override
+        public String toString() {
+            String text = String.format("depth %d/%dms/radius %d/%s", depth, timeLimitMs, radius, adaptive ? "adaptive" : "fixed");
+            return nodeBudget > 0 ? text + "/" + nodeBudget + " nodes" : text;
+        }
+    }
+
+    private static class Engine {
+        private final EngineConfig config;
+        private final MinimaxSearch search;
+        private final AIPlayer asBlack;
+        private final AIPlayer asWhite;
+        private AIPlayer player;
+        private long nodes;
+        private long nanos;
+        private int moves;
+
+        Engine(EngineConfig config) {
+            this.config = config;
+            this.search = new MinimaxSearch(new EvaluationFunction(), new MoveGenerator(config.radius), new TranspositionTable(), 1);
+            search.setTimeManager(new TimeManager(config.adaptive, config.nodeBudget));
+            this.asBlack = new AIPlayer(GameBoard.BLACK, GameBoard.WHITE, config.depth, config.timeLimitMs, search);
+            this.asWhite = new AIPlayer(GameBoard.WHITE, GameBoard.BLACK, config.depth, config.timeLimitMs, search);
+        }
+
+        void newGame(char symbol, long seed) {
+            search.getTranspositionTable().clear();
+            search.setSeed(seed);
+            player = symbol == GameBoard.BLACK ? asBlack : asWhite;
+        }
+
+        GomokuMove move(GameBoard board, AtomicBoolean abortFlag) {
+            long start = System.nanoTime();
+            GomokuMove move = player.getBestMove(board, abortFlag);
+            nanos += System.nanoTime() - start;
+            nodes += search.getNodeCount();
+            moves++;
+            return move;
+        }
+
+        long takeNodes() {
+            long taken = nodes;
+            nodes = 0;
+            return taken;
+        }
+
+        long takeNanos() {
+            long taken = nanos;
+            nanos = 0;
+            return taken;
+        }
+
+        int takeMoves() {
+            int taken = moves;
+            moves = 0;
+            return taken;
+        }
+    }
+
+    // Results from A's point of view.
+    private static class Score {
+        static final int WIN = 0;
+        static final int DRAW = 1;
+        static final int LOSS = 2;
+        private static final String[] NAMES = {"A wins", "draw", "B wins"};
+
+        private final int[] results = new int[3];
+        private long nodes;
+        private long nanos;
+        private long aNanos;
+        private long aMoves;
+        private long bNanos;
+        private long bMoves;
+
+        synchronized void record(int game, boolean aBlack, int result, int moves, long gameNodes,
+                                 long gameNanosA, int movesA, long gameNanosB, int movesB) {
+            results[result]++;
+            nodes += gameNodes;
+            nanos += gameNanosA + gameNanosB;
+            aNanos += gameNanosA;
+            aMoves += movesA;
+            bNanos += gameNanosB;
+            bMoves += movesB;
+            System.out.printf("game %d (A %s): %s in %d moves | A +%d =%d -%d, Elo %s%n", game + 1,
+                aBlack ? "black" : "white", NAMES[result], moves, results[WIN], results[DRAW], results[LOSS], elo());
+        }
+
+        synchronized void printSummary(long elapsedMs) {
+            int total = results[WIN] + results[DRAW] + results[LOSS];
+            System.out.printf("%d games in %.1f s: A +%d =%d -%d%n", total, elapsedMs / 1000.0, results[WIN], results[DRAW], results[LOSS]);
+            System.out.printf("Elo difference A - B: %s%n", elo());
+            System.out.printf("Search: %,d nodes, %,.0f nodes/s overall, %,.0f nodes/s per searching thread%n", nodes,
+                elapsedMs == 0 ? 0.0 : nodes * 1000.0 / elapsedMs, nanos == 0 ? 0.0 : nodes * 1e9 / nanos);
+            System.out.printf("Time per move: A %.0f ms, B %.0f ms%n", aMoves == 0 ? 0.0 : aNanos / 1e6 / aMoves,
+                bMoves == 0 ? 0.0 : bNanos / 1e6 / bMoves);
+        }
+
+        // Elo difference with a 95% interval from the spread of the per-game scores.
+        private String elo() {
+            int n = results[WIN] + results[DRAW] + results[LOSS];
+            if (n == 0) return "-";
+            double p = (results[WIN] + 0.5 * results[DRAW]) / n;
+            double variance = (results[WIN] * square(1 - p) + results[DRAW] * square(0.5 - p) + results[LOSS] * square(p)) / n;
+            double margin = 1.96 * Math.sqrt(variance / n);
+            return String.format("%+.0f [%+.0f, %+.0f]", toElo(p), toElo(p - margin), toElo(p + margin));
+        }
+
+        private static double toElo(double score) {
+            double clamped = Math.min(Math.max(score, 1e-3), 1 - 1e-3);
+            return -400 * Math.log10(1 / clamped - 1);
+        }
+
+        private static double square(double x) {
+            return x * x;
+        }
+    }
+}
@@ -1,29 +1,191 @@
 package com.example.gomoku.ai;
 
-import com.example.gomoku.model.Board;
+import com.example.gomoku.model.BitBoard;
+import com.example.gomoku.model.GameBoard;
 import com.example.gomoku.model.GomokuMove;
 
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class AIPlayer {
+    private static final int NO_MOVE = TranspositionTable.NO_MOVE;
+    private static final int NONE = PackedMove.NONE;
+    private static final long PONDER_TIME_MS = Long.MAX_VALUE / 4;
+
     private final char aiSymbol;
     private final char humanSymbol;
     private final int maxDepth;
     private final int timeLimitMs;
     private final MinimaxSearch search;
+    private final OpeningBook book;
+    private final Random random = new Random();
+    private BitBoard searchBoard;
+
+    private final ExecutorService ponderWorker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread t = new Thread(runnable, "AI-Ponder");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean ponderAbort = new AtomicBoolean(false);
+    private volatile boolean pondering;
+    private volatile int expectedReply = NO_MOVE;
+    private Future<Integer> ponderResult;
+    private boolean ponderHitPossible;
+    private long ponderHash;
+    private TimeManager ponderClock;
 
     public AIPlayer(char aiSymbol, char humanSymbol, int maxDepth, int timeLimitMs, MinimaxSearch search) {
+        this(aiSymbol, humanSymbol, maxDepth, timeLimitMs, search, null);
+    }
+
+    // The book, when given, answers positions it knows before any search is started.
+    public AIPlayer(char aiSymbol, char humanSymbol, int maxDepth, int timeLimitMs, MinimaxSearch search, OpeningBook book) {
         this.aiSymbol = aiSymbol;
         this.humanSymbol = humanSymbol;
         this.maxDepth = maxDepth;
         this.timeLimitMs = timeLimitMs;
         this.search = search;
+        this.book = book;
     }
 
-    public GomokuMove getBestMove(Board board, AtomicBoolean abortFlag) {
-        Board copy = board.copy();
-        MoveEvaluation result = search.search(copy, maxDepth, aiSymbol, humanSymbol, timeLimitMs, abortFlag);
-        return result != null ? result.move : null;
+    public boolean isPondering() {
+        return pondering;
+    }
+
+    public void setPondering(boolean pondering) {
+        this.pondering = pondering;
+        if (!pondering) stopPondering();
+    }
+
+    // The search works on packed moves; this is the one place a GomokuMove is made.
+    public GomokuMove getBestMove(GameBoard board, AtomicBoolean abortFlag) {
+        int move = finishPondering(board);
+        if (move == NONE && book != null) {
+            GomokuMove bookMove = book.choose(board, aiSymbol, random);
+            if (bookMove != null) {
+                expectedReply = NO_MOVE;
+                return bookMove;
+            }
+        }
+        if (move == NONE) {
+            move = search.searchMove(sync(board), maxDepth, aiSymbol, humanSymbol, timeLimitMs, abortFlag);
+        }
+        expectedReply = search.principalVariationCell(1);
+        return PackedMove.toGomokuMove(move);
     }
-}
 
+    // Called once the AI's move is on the board. With a predicted reply the engine searches
+    // the position after it, and that search becomes the real one if the human plays it;
+    // otherwise it searches the human's position so the table holds every reply.
+    public synchronized void startPondering(GameBoard board) {
+        stopPondering();
+        if (!pondering) return;
+        BitBoard position = sync(board);
+        int n = position.getSize();
+        int reply = expectedReply;
+        ponderAbort.set(false);
+        ponderHitPossible = reply != NO_MOVE && position.isValidMove(reply / n, reply % n);
+        if (ponderHitPossible) {
+            position.placeSymbol(reply / n, reply % n, humanSymbol);
+            ponderHash = position.getHash();
+            // A manager of its own, so a hit can restart the clock of the running search.
+            TimeManager normal = search.getTimeManager();
+            TimeManager clock = new TimeManager(normal.isAdaptive(), normal.getNodeBudget());
+            ponderClock = clock;
+            ponderResult = ponderWorker.submit(() -> {
+                search.setTimeManager(clock);
+                try {
+                    return search.searchMove(position, maxDepth, aiSymbol, humanSymbol, PONDER_TIME_MS, ponderAbort);
+                } finally {
+                    search.setTimeManager(normal);
+                }
+            });
+        } else {
+            ponderResult = ponderWorker.submit(() -> search.searchMove(position, maxDepth, humanSymbol, aiSymbol, PONDER_TIME_MS, ponderAbort));
+        }
+    }
+
+    public void stopPondering() {
+        Future<Integer> running = takePonder();
+        if (running != null) join(running);
+    }
+
+    // Stops pondering and releases the ponder thread and the search's helper threads.
+    public void shutdown() {
+        stopPondering();
+        ponderWorker.shutdownNow();
+        search.shutdown();
+    }
+
+    // On a ponder hit the pondering search continues under the normal time limit, counted
+    // from the human's move, with the usual early stops, and its result is returned; on a
+    // miss it is stopped.
+    private int finishPondering(GameBoard board) {
+        boolean hit;
+        Future<Integer> running;
+        TimeManager clock;
+        synchronized (this) {
+            hit = ponderHitPossible && board.getHash() == ponderHash;
+            clock = ponderClock;
+            running = takePonder();
+        }
+        if (running == null) return NONE;
+        if (hit) {
+            clock.rearm(timeLimitMs);
+            try {
+                return running.get(timeLimitMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Out of time: stopping it leaves the deepest completed iteration as the result.
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Pondering search failed", e.getCause());
+            }
+        }
+        int result = join(running);
+        return hit ? result : NONE;
+    }
+
+    // Searches and pondering share one board that follows the game by changing only the cells
+    // that differ, so the search keeps its evaluator attached instead of rebuilding it. It is
+    // only touched once any pondering search has been joined.
+    private BitBoard sync(GameBoard board) {
+        if (searchBoard == null || searchBoard.getSize() != board.getSize()) searchBoard = BitBoard.of(board);
+        else searchBoard.copyFrom(board);
+        return searchBoard;
+    }
+
+    private synchronized Future<Integer> takePonder() {
+        Future<Integer> running = ponderResult;
+        ponderResult = null;
+        ponderHitPossible = false;
+        ponderClock = null;
+        return running;
+    }
+
+    // The pondering search shares the search object, so it has to finish before another starts.
+    // Its failure is thrown to the caller.
+    private int join(Future<Integer> running) {
+        ponderAbort.set(true);
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return running.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Pondering search failed", e.getCause());
+                }
+            }
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.gomoku.ai;
+
+// The best root moves after one completed depth of an analysing search, best first. Moves
+// are packed as in PackedMove and scores are from the point of view of player.
+public class Analysis {
+    private final char player;
+    private final int depth;
+    private final long nodes;
+    private final long elapsedNanos;
+    private final int[] moves;
+    private final int[] scores;
+    private final int[][] variations;
+
+    Analysis(char player, int depth, long nodes, long elapsedNanos, int[] moves, int[] scores, int[][] variations) {
+        this.player = player;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+        this.moves = moves;
+        this.scores = scores;
+        this.variations = variations;
+    }
+
+    public char getPlayer() {
+        return player;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public int getLineCount() {
+        return moves.length;
+    }
+
+    public int getMove(int line) {
+        return moves[line];
+    }
+
+    public int getScore(int line) {
+        return scores[line];
+    }
+
+    // The expected continuation, starting with getMove(line).
+    public int[] getVariation(int line) {
+        return variations[line].clone();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.gomoku.ai;
+
+import com.example.gomoku.model.BitBoard;
+import com.example.gomoku.model.GomokuMove;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Runs an AIPlayer on one long-lived worker thread against a board of its own. Moves are
+// applied to that board as they are played and every request runs on the worker in order,
+// so a move needs neither a new thread nor a copy of the caller's board.
+public class EngineService {
+    private static final long SHUTDOWN_WAIT_SECONDS = 5;
+
+    private final AIPlayer player;
+    private final BitBoard board;
+    // Shared by every think since the last stop; stop swaps in a fresh flag, so a later think
+    // cannot clear the stop of one still queued or running.
+    private final AtomicReference<AtomicBoolean> stopFlag = new AtomicReference<>(new AtomicBoolean(false));
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread t = new Thread(runnable, "AI-Engine");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public EngineService(AIPlayer player, int boardSize) {
+        this.player = player;
+        this.board = new BitBoard(boardSize);
+    }
+
+    public int getBoardSize() {
+        return board.getSize();
+    }
+
+    public CompletableFuture<Void> play(int row, int col, char symbol) {
+        return CompletableFuture.runAsync(() -> {
+            if (!board.placeSymbol(row, col, symbol)) {
+                throw new IllegalArgumentException("Illegal move for engine board: " + row + "," + col);
+            }
+        }, worker);
+    }
+
+    public CompletableFuture<Void> reset() {
+        return CompletableFuture.runAsync(() -> {
+            player.stopPondering();
+            board.clear();
+        }, worker);
+    }
+
+    // Completes with the AI's move once every move sent before it has been applied.
+    public CompletableFuture<GomokuMove> think() {
+        AtomicBoolean flag = stopFlag.get();
+        return CompletableFuture.supplyAsync(() -> player.getBestMove(board, flag), worker);
+    }
+
+    // Ends every think requested so far early; each completes with the best move it has found.
+    public void stop() {
+        stopFlag.getAndSet(new AtomicBoolean(false)).set(true);
+    }
+
+    public CompletableFuture<Void> startPondering() {
+        return CompletableFuture.runAsync(() -> player.startPondering(board), worker);
+    }
+
+    public CompletableFuture<Void> stopPondering() {
+        return CompletableFuture.runAsync(player::stopPondering, worker);
+    }
+
+    // The search is only released once the stopped think has left it.
+    public void shutdown() {
+        stop();
+        worker.shutdownNow();
+        try {
+            worker.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        player.shutdown();
+    }
+}
@@ -1,10 +1,6 @@
 package com.example.gomoku.ai;
 
-import com.example.gomoku.game.WinChecker;
-import com.example.gomoku.model.Board;
-
-import java.util.HashSet;
-import java.util.Set;
+import com.example.gomoku.model.GameBoard;
 
 public class EvaluationFunction {
     private static final int WIN_SCORE = 100000;
@@ -15,77 +11,108 @@ public class EvaluationFunction {
     private static final int TWO_OPEN = 50;
     private static final int TWO_BLOCKED = 5;
 
-    public int evaluate(Board board, char maxPlayer, char minPlayer) {
-        if (WinChecker.checkWinAnywhere(board, maxPlayer)) return WIN_SCORE;
-        if (WinChecker.checkWinAnywhere(board, minPlayer)) return -WIN_SCORE;
+    // A window is the cell before a line's first own stone followed by the next five
+    // cells, indexed by its own-stone bits and its empty-cell bits.
+    private static final int WINDOW = 6;
+    private static final int WINDOW_MASK = (1 << WINDOW) - 1;
+    private static final int[] PATTERN_SCORES = new int[1 << (2 * WINDOW)];
 
-        int maxScore = evaluatePlayer(board, maxPlayer);
-        int minScore = evaluatePlayer(board, minPlayer);
+    static {
+        for (int own = 0; own <= WINDOW_MASK; own++) {
+            for (int empty = 0; empty <= WINDOW_MASK; empty++) {
+                if ((own & empty) == 0) PATTERN_SCORES[own | empty << WINDOW] = scoreWindow(own, empty);
+            }
+        }
+    }
 
-        return maxScore - minScore;
+    private final int lineCacheBits;
+
+    public EvaluationFunction() {
+        this(0);
     }
 
-    public int evaluatePlayer(Board board, char player) {
-        int score = 0;
-        int size = board.getSize();
-        Set<String> countedPatterns = new HashSet<>();
-
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                if (board.getSymbolAt(i, j) == player) {
-                    int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
-                    for (int[] dir : directions) {
-                        String key = getPatternKey(i, j, dir[0], dir[1]);
-                        if (!countedPatterns.contains(key)) {
-                            countedPatterns.add(key);
-                            score += evaluateDirection(board, i, j, player, dir[0], dir[1]);
-                        }
-                    }
-                }
-            }
-        }
-        return score;
+    // With lineCacheBits above 0 every tracked evaluator gets a LineCache of 2^lineCacheBits
+    // entries. It is off by default: a line is scored with one table lookup, which is about as
+    // cheap as a cache probe.
+    public EvaluationFunction(int lineCacheBits) {
+        this.lineCacheBits = lineCacheBits;
     }
 
-    private String getPatternKey(int row, int col, int dRow, int dCol) {
-        int minRow = row;
-        int minCol = col;
-        while (minRow > 0 || minCol > 0) {
-            int newRow = minRow - dRow;
-            int newCol = minCol - dCol;
-            if (newRow < 0 || newCol < 0) break;
-            minRow = newRow;
-            minCol = newCol;
-        }
-        return minRow + "," + minCol + "," + dRow + "," + dCol;
+    public int evaluate(GameBoard board, char maxPlayer, char minPlayer) {
+        return new IncrementalEvaluator(board).evaluate(maxPlayer, minPlayer);
     }
 
-    private int evaluateDirection(Board board, int row, int col, char player, int dRow, int dCol) {
-        int count = 1;
-        int openEnds = 0;
+    public IncrementalEvaluator track(GameBoard board) {
+        IncrementalEvaluator evaluator = new IncrementalEvaluator(board, lineCacheBits > 0 ? new LineCache(lineCacheBits) : null);
+        board.addListener(evaluator);
+        return evaluator;
+    }
 
-        int r = row + dRow, c = col + dCol;
-        while (board.inBounds(r, c) && board.getSymbolAt(r, c) == player) {
-            count++;
-            r += dRow;
-            c += dCol;
-        }
-        if (board.inBounds(r, c) && board.getSymbolAt(r, c) == board.getEmptySymbol()) openEnds++;
-
-        r = row - dRow;
-        c = col - dCol;
-        while (board.inBounds(r, c) && board.getSymbolAt(r, c) == player) {
-            count++;
-            r -= dRow;
-            c -= dCol;
-        }
-        if (board.inBounds(r, c) && board.getSymbolAt(r, c) == board.getEmptySymbol()) openEnds++;
+    public int evaluatePlayer(GameBoard board, char player) {
+        return new IncrementalEvaluator(board).evaluatePlayer(player);
+    }
+
+    // Only the first run of own stones on a line is scored. Bits outside the board are never empty.
+    static int scoreLine(long own, long empty) {
+        if (own == 0) return 0;
+        int first = Long.numberOfTrailingZeros(own);
+        int ownWindow = (int) ((own << 1) >>> first) & WINDOW_MASK;
+        int emptyWindow = (int) ((empty << 1) >>> first) & WINDOW_MASK;
+        return PATTERN_SCORES[ownWindow | emptyWindow << WINDOW];
+    }
 
+    static boolean hasFive(long own) {
+        return (own & own >>> 1 & own >>> 2 & own >>> 3 & own >>> 4) != 0;
+    }
+
+    // Some five-cell window holds at least three own stones and no opposing stone, so one
+    // more stone there makes a four. Counts the five bits of every window at once with
+    // two full adders.
+    static boolean hasFourWindow(long own, long empty) {
+        long free = own | empty;
+        long starts = free & free >>> 1 & free >>> 2 & free >>> 3 & free >>> 4;
+        long a = own, b = own >>> 1, c = own >>> 2, d = own >>> 3, e = own >>> 4;
+        long sum = a ^ b ^ c;
+        long carry = a & b | a & c | b & c;
+        long total = sum ^ d ^ e;
+        long carry2 = sum & d | sum & e | d & e;
+        return (starts & (carry & carry2 | (carry | carry2) & total)) != 0;
+    }
+
+    static int winScore() {
+        return WIN_SCORE;
+    }
+
+    private static int scoreWindow(int own, int empty) {
+        if ((own & 2) == 0) return 0;
+        int count = Integer.numberOfTrailingZeros(~(own >>> 1));
+        int openEnds = (empty & 1) + (empty >>> (count + 1) & 1);
+
+        int score;
         if (count >= 5) return WIN_SCORE;
-        if (count == 4) return openEnds == 2 ? FOUR_OPEN : FOUR_BLOCKED;
-        if (count == 3) return openEnds == 2 ? THREE_OPEN : THREE_BLOCKED;
-        if (count == 2) return openEnds == 2 ? TWO_OPEN : TWO_BLOCKED;
+        else if (count == 4) score = openEnds == 2 ? FOUR_OPEN : FOUR_BLOCKED;
+        else if (count == 3) score = openEnds == 2 ? THREE_OPEN : THREE_BLOCKED;
+        else if (count == 2) score = openEnds == 2 ? TWO_OPEN : TWO_BLOCKED;
+        else score = 0;
+
+        return Math.max(score, scoreBrokenWindow(own, empty));
+    }
+
+    // Gapped shapes starting at the first stone: X.XXX, XX.XX and XXX.X are fours with a
+    // single completion point; X.XX and XX.X are threes, open when both ends are empty.
+    private static int scoreBrokenWindow(int own, int empty) {
+        int five = own >>> 1 & 0b11111;
+        int fiveEmpty = empty >>> 1 & 0b11111;
+        if (five == 0b11101 || five == 0b11011 || five == 0b10111) {
+            if ((~five & 0b11111 & fiveEmpty) != 0) return FOUR_BLOCKED;
+        }
+
+        int four = own >>> 1 & 0b1111;
+        int fourEmpty = empty >>> 1 & 0b1111;
+        if ((four == 0b1101 || four == 0b1011) && (~four & 0b1111 & fourEmpty) != 0) {
+            boolean open = (empty & 1) != 0 && (empty >>> 5 & 1) != 0;
+            return open ? THREE_OPEN : THREE_BLOCKED;
+        }
         return 0;
     }
 }
-
@@ -0,0 +1,111 @@
+package com.example.gomoku.ai;
+
+import com.example.gomoku.model.BoardListener;
+import com.example.gomoku.model.GameBoard;
+
+import java.util.Arrays;
+
+public class Frontier implements BoardListener {
+    private static final int NONE = -1;
+
+    private GameBoard board;
+    private final int size;
+    private final int radius;
+
+    // Stones within radius of each cell; empty cells with a non-zero count are linked.
+    private final int[] counts;
+    private final int[] next;
+    private final int[] prev;
+    private final boolean[] linked;
+    private int head = NONE;
+    private int length;
+
+    Frontier(GameBoard board, int radius) {
+        this.size = board.getSize();
+        this.radius = radius;
+        int cells = size * size;
+        this.counts = new int[cells];
+        this.next = new int[cells];
+        this.prev = new int[cells];
+        this.linked = new boolean[cells];
+        reset(board);
+    }
+
+    // Re-reads a board of the same size into the existing arrays without attaching.
+    void reset(GameBoard board) {
+        if (board.getSize() != size) throw new IllegalArgumentException("Board size " + board.getSize() + " does not match frontier size " + size);
+        this.board = board;
+        Arrays.fill(counts, 0);
+        Arrays.fill(linked, false);
+        head = NONE;
+        length = 0;
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                if (board.getSymbolAt(r, c) != GameBoard.EMPTY) stonePlaced(r, c, board.getSymbolAt(r, c));
+            }
+        }
+    }
+
+    public void detach() {
+        board.removeListener(this);
+    }
+
+    public int size() {
+        return length;
+    }
+
+    // Writes cell indices (row * size + col), most recently reached first.
+    public int collect(int[] cells) {
+        int count = 0;
+        for (int cell = head; cell != NONE; cell = next[cell]) {
+            cells[count++] = cell;
+        }
+        return count;
+    }
+
+    @Override
+    public void stonePlaced(int row, int col, char symbol) {
+        unlink(row * size + col);
+        int rMin = Math.max(0, row - radius), rMax = Math.min(size - 1, row + radius);
+        int cMin = Math.max(0, col - radius), cMax = Math.min(size - 1, col + radius);
+        for (int r = rMin; r <= rMax; r++) {
+            for (int c = cMin; c <= cMax; c++) {
+                int cell = r * size + c;
+                if (counts[cell]++ == 0 && !(r == row && c == col) && board.getSymbolAt(r, c) == GameBoard.EMPTY) link(cell);
+            }
+        }
+    }
+
+    @Override
+    public void stoneRemoved(int row, int col, char symbol) {
+        int rMin = Math.max(0, row - radius), rMax = Math.min(size - 1, row + radius);
+        int cMin = Math.max(0, col - radius), cMax = Math.min(size - 1, col + radius);
+        for (int r = rMin; r <= rMax; r++) {
+            for (int c = cMin; c <= cMax; c++) {
+                int cell = r * size + c;
+                if (--counts[cell] == 0) unlink(cell);
+            }
+        }
+        int cell = row * size + col;
+        if (counts[cell] > 0) link(cell);
+    }
+
+    private void link(int cell) {
+        if (linked[cell]) return;
+        linked[cell] = true;
+        prev[cell] = NONE;
+        next[cell] = head;
+        if (head != NONE) prev[head] = cell;
+        head = cell;
+        length++;
+    }
+
+    private void unlink(int cell) {
+        if (!linked[cell]) return;
+        linked[cell] = false;
+        if (prev[cell] != NONE) next[prev[cell]] = next[cell];
+        else head = next[cell];
+        if (next[cell] != NONE) prev[next[cell]] = prev[cell];
+        length--;
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.gomoku.ai;
+
+import com.example.gomoku.model.BitBoard;
+import com.example.gomoku.model.BoardListener;
+import com.example.gomoku.model.GameBoard;
+
+import java.util.Arrays;
+
+public class IncrementalEvaluator implements BoardListener {
+    private GameBoard board;
+    private final int size;
+    private final long[] lineMasks;
+    private final long[][] lineBits;
+    private final int[][] lineScores;
+    private final boolean[][] lineFives;
+    private final int[] totals = new int[2];
+    private final int[] fives = new int[2];
+    private final LineCache cache;
+
+    // Lines are numbered rows, columns, diagonals, anti-diagonals. Row lines are
+    // keyed by column bit and every other line by row bit, so bit order follows
+    // the row-major scan order evaluatePlayer uses.
+    IncrementalEvaluator(GameBoard board) {
+        this(board, null);
+    }
+
+    // With a cache, lines are scored through it rather than pattern by pattern.
+    IncrementalEvaluator(GameBoard board, LineCache cache) {
+        this.size = board.getSize();
+        this.cache = cache;
+        int lines = 6 * size - 2;
+        this.lineMasks = new long[lines];
+        this.lineBits = new long[2][lines];
+        this.lineScores = new int[2][lines];
+        this.lineFives = new boolean[2][lines];
+
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                lineMasks[rowLine(r)] |= 1L << c;
+                lineMasks[columnLine(c)] |= 1L << r;
+                lineMasks[diagonalLine(r, c)] |= 1L << r;
+                lineMasks[antiDiagonalLine(r, c)] |= 1L << r;
+            }
+        }
+        reset(board);
+    }
+
+    // Re-reads a board of the same size into the existing arrays; like the constructor it
+    // does not attach itself as a listener.
+    void reset(GameBoard board) {
+        if (board.getSize() != size) throw new IllegalArgumentException("Board size " + board.getSize() + " does not match evaluator size " + size);
+        this.board = board;
+        for (int colour = 0; colour < 2; colour++) {
+            Arrays.fill(lineBits[colour], 0L);
+            Arrays.fill(lineScores[colour], 0);
+            Arrays.fill(lineFives[colour], false);
+            totals[colour] = 0;
+            fives[colour] = 0;
+        }
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                char symbol = board.getSymbolAt(r, c);
+                if (symbol == GameBoard.BLACK || symbol == GameBoard.WHITE) toggle(r, c, BitBoard.colourIndex(symbol));
+            }
+        }
+        for (int line = 0; line < lineMasks.length; line++) {
+            rescore(line);
+        }
+    }
+
+    // Null when lines are scored directly.
+    public LineCache getLineCache() {
+        return cache;
+    }
+
+    int boardSize() {
+        return size;
+    }
+
+    public void detach() {
+        board.removeListener(this);
+    }
+
+    public int evaluate(char maxPlayer, char minPlayer) {
+        if (fives[BitBoard.colourIndex(maxPlayer)] > 0) return EvaluationFunction.winScore();
+        if (fives[BitBoard.colourIndex(minPlayer)] > 0) return -EvaluationFunction.winScore();
+        return evaluatePlayer(maxPlayer) - evaluatePlayer(minPlayer);
+    }
+
+    public int evaluatePlayer(char player) {
+        return totals[BitBoard.colourIndex(player)];
+    }
+
+    public boolean hasFive(char player) {
+        return fives[BitBoard.colourIndex(player)] > 0;
+    }
+
+    // Whether player has any move that makes a four. Scanned on demand: tracking it per
+    // line on every update costs more than the occasional scan.
+    public boolean canMakeFour(char player) {
+        int colour = BitBoard.colourIndex(player);
+        for (int line = 0; line < lineMasks.length; line++) {
+            long own = lineBits[colour][line];
+            if (Long.bitCount(own) >= 3 && EvaluationFunction.hasFourWindow(own, empties(line))) return true;
+        }
+        return false;
+    }
+
+    // Change in evaluate(symbol, opponent) if symbol were placed at (row, col), ignoring fives.
+    public int moveGain(int row, int col, char symbol) {
+        int colour = BitBoard.colourIndex(symbol);
+        return lineGain(rowLine(row), col, colour)
+            + lineGain(columnLine(col), row, colour)
+            + lineGain(diagonalLine(row, col), row, colour)
+            + lineGain(antiDiagonalLine(row, col), row, colour);
+    }
+
+    private int lineGain(int line, int bit, int colour) {
+        if (cache != null) {
+            long black = lineBits[0][line];
+            long white = lineBits[1][line];
+            if (colour == 0) black |= 1L << bit;
+            else white |= 1L << bit;
+            long value = cache.lookup(black, white, lineMasks[line]);
+            return LineCache.score(value, colour) - lineScores[colour][line]
+                - (LineCache.score(value, 1 - colour) - lineScores[1 - colour][line]);
+        }
+        long own = lineBits[colour][line] | 1L << bit;
+        long opp = lineBits[1 - colour][line];
+        long empty = lineMasks[line] & ~(own | opp);
+        return EvaluationFunction.scoreLine(own, empty) - lineScores[colour][line]
+            - (EvaluationFunction.scoreLine(opp, empty) - lineScores[1 - colour][line]);
+    }
+
+    // Lines through a cell by direction: row, column, diagonal, anti-diagonal.
+    int lineThrough(int direction, int row, int col) {
+        switch (direction) {
+            case 0: return rowLine(row);
+            case 1: return columnLine(col);
+            case 2: return diagonalLine(row, col);
+            default: return antiDiagonalLine(row, col);
+        }
+    }
+
+    int lineCount() {
+        return lineMasks.length;
+    }
+
+    int directionOf(int line) {
+        if (line < size) return 0;
+        if (line < 2 * size) return 1;
+        return line < 4 * size - 1 ? 2 : 3;
+    }
+
+    int bitOn(int direction, int row, int col) {
+        return direction == 0 ? col : row;
+    }
+
+    int cellAt(int direction, int line, int bit) {
+        switch (direction) {
+            case 0: return line * size + bit;
+            case 1: return bit * size + line - size;
+            case 2: return bit * size + bit - (line - 3 * size + 1);
+            default: return bit * size + line - (4 * size - 1) - bit;
+        }
+    }
+
+    long stones(int colour, int line) {
+        return lineBits[colour][line];
+    }
+
+    long empties(int line) {
+        return lineMasks[line] & ~(lineBits[0][line] | lineBits[1][line]);
+    }
+
+    @Override
+    public void stonePlaced(int row, int col, char symbol) {
+        update(row, col, BitBoard.colourIndex(symbol));
+    }
+
+    @Override
+    public void stoneRemoved(int row, int col, char symbol) {
+        update(row, col, BitBoard.colourIndex(symbol));
+    }
+
+    private void update(int row, int col, int colour) {
+        toggle(row, col, colour);
+        rescore(rowLine(row));
+        rescore(columnLine(col));
+        rescore(diagonalLine(row, col));
+        rescore(antiDiagonalLine(row, col));
+    }
+
+    private void toggle(int row, int col, int colour) {
+        long[] bits = lineBits[colour];
+        bits[rowLine(row)] ^= 1L << col;
+        bits[columnLine(col)] ^= 1L << row;
+        bits[diagonalLine(row, col)] ^= 1L << row;
+        bits[antiDiagonalLine(row, col)] ^= 1L << row;
+    }
+
+    private void rescore(int line) {
+        long black = lineBits[0][line];
+        long white = lineBits[1][line];
+        if (cache != null) {
+            long value = cache.lookup(black, white, lineMasks[line]);
+            apply(0, line, LineCache.score(value, 0), LineCache.five(value, 0));
+            apply(1, line, LineCache.score(value, 1), LineCache.five(value, 1));
+            return;
+        }
+        long empty = lineMasks[line] & ~(black | white);
+        rescore(0, line, black, empty);
+        rescore(1, line, white, empty);
+    }
+
+    private void rescore(int colour, int line, long own, long empty) {
+        apply(colour, line, EvaluationFunction.scoreLine(own, empty), EvaluationFunction.hasFive(own));
+    }
+
+    private void apply(int colour, int line, int score, boolean five) {
+        totals[colour] += score - lineScores[colour][line];
+        lineScores[colour][line] = score;
+
+        if (five != lineFives[colour][line]) {
+            fives[colour] += five ? 1 : -1;
+            lineFives[colour][line] = five;
+        }
+    }
+
+    private int rowLine(int row) {
+        return row;
+    }
+
+    private int columnLine(int col) {
+        return size + col;
+    }
+
+    private int diagonalLine(int row, int col) {
+        return 2 * size + row - col + size - 1;
+    }
+
+    private int antiDiagonalLine(int row, int col) {
+        return 4 * size - 1 + row + col;
+    }
+}
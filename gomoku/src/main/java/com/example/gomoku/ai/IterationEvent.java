@@ -0,0 +1,29 @@
+package com.example.gomoku.ai;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.gomoku.Iteration")
+@Label("Search Iteration")
+@Category({"Gomoku", "Search"})
+@Description("One depth of iterative deepening on one search thread")
+@StackTrace(false)
+class IterationEvent extends jdk.jfr.Event {
+    @Label("Depth")
+    int depth;
+
+    @Label("Completed")
+    boolean completed;
+
+    @Label("Score")
+    int score;
+
+    @Label("Nodes")
+    long nodes;
+
+    @Label("Aspiration Researches")
+    int researches;
+}
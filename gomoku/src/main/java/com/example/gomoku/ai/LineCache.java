@@ -0,0 +1,86 @@
+package com.example.gomoku.ai;
+
+import java.util.Arrays;
+
+// Direct-mapped cache of line scores keyed by the exact contents of a line: its black
+// stones, white stones and on-board cells. One entry holds the pattern score of both
+// colours and whether either has five, so a line that looks the same as one seen before,
+// anywhere on the board, costs one probe instead of scoring both colours again. A colliding
+// line simply replaces the entry.
+public class LineCache {
+    private static final int SCORE_BITS = 30;
+    private static final long SCORE_MASK = (1L << SCORE_BITS) - 1;
+    private static final long BLACK_FIVE = 1L << 60;
+    private static final long WHITE_FIVE = 1L << 61;
+    private static final long FILLED = 1L << 62;
+
+    private final int shift;
+    private final long[] blackKeys;
+    private final long[] whiteKeys;
+    private final long[] maskKeys;
+    private final long[] values;
+    private long hits;
+    private long misses;
+
+    // 2^bits entries of 32 bytes each.
+    public LineCache(int bits) {
+        if (bits < 1 || bits > 24) throw new IllegalArgumentException("Line cache bits must be between 1 and 24: " + bits);
+        int entries = 1 << bits;
+        this.shift = 64 - bits;
+        this.blackKeys = new long[entries];
+        this.whiteKeys = new long[entries];
+        this.maskKeys = new long[entries];
+        this.values = new long[entries];
+    }
+
+    // Packed scores and fives of both colours for a line, read with score and five.
+    long lookup(long black, long white, long mask) {
+        int index = (int) ((black * 0x9E3779B97F4A7C15L ^ white * 0xC2B2AE3D27D4EB4FL ^ mask * 0x165667B19E3779F9L) >>> shift);
+        long value = values[index];
+        if (value != 0 && blackKeys[index] == black && whiteKeys[index] == white && maskKeys[index] == mask) {
+            hits++;
+            return value;
+        }
+        misses++;
+        long empty = mask & ~(black | white);
+        value = FILLED | (long) EvaluationFunction.scoreLine(white, empty) << SCORE_BITS | EvaluationFunction.scoreLine(black, empty);
+        if (EvaluationFunction.hasFive(black)) value |= BLACK_FIVE;
+        if (EvaluationFunction.hasFive(white)) value |= WHITE_FIVE;
+        blackKeys[index] = black;
+        whiteKeys[index] = white;
+        maskKeys[index] = mask;
+        values[index] = value;
+        return value;
+    }
+
+    static int score(long value, int colour) {
+        return (int) (value >>> (colour * SCORE_BITS) & SCORE_MASK);
+    }
+
+    static boolean five(long value, int colour) {
+        return (value & (colour == 0 ? BLACK_FIVE : WHITE_FIVE)) != 0;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public double getHitRate() {
+        long probes = hits + misses;
+        return probes == 0 ? 0.0 : (double) hits / probes;
+    }
+
+    public void resetCounters() {
+        hits = 0;
+        misses = 0;
+    }
+
+    public void clear() {
+        Arrays.fill(values, 0L);
+        resetCounters();
+    }
+}
@@ -1,181 +1,813 @@
 package com.example.gomoku.ai;
 
 import com.example.gomoku.game.WinChecker;
-import com.example.gomoku.model.Board;
-import com.example.gomoku.model.GomokuMove;
+import com.example.gomoku.model.BitBoard;
+import com.example.gomoku.model.GameBoard;
+import com.example.gomoku.model.Zobrist;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.SubmissionPublisher;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import jdk.jfr.FlightRecorder;
+
 public class MinimaxSearch {
+    private static final int NO_CELL = TranspositionTable.NO_MOVE;
+    private static final int PV_BONUS = 1 << 30;
+    private static final int TT_BONUS = PV_BONUS - 1;
+    private static final int KILLER_GAIN = 30;
+    private static final int MAX_ORDER_GAIN = 1 << 20;
+    private static final int MAX_HISTORY = 1 << 24;
+    private static final int ASPIRATION_WINDOW = 100;
+    private static final int MAX_ASPIRATION_WINDOW = 10000;
+    private static final int THREAT_TIME_SHARE = 8;
+    private static final int LEAF_VCF_DEPTH = 6;
+    private static final int LEAF_VCF_NODES = 500;
+    private static final int POLL_INTERVAL = 1024;
+    private static final double ANALYSIS_SHARE = 0.25;
+
     private final EvaluationFunction eval;
     private final MoveGenerator generator;
+    private final TranspositionTable table;
+    private final ThreatSpaceSearch threats = new ThreatSpaceSearch();
+    private final MinimaxSearch[] helpers;
+    private final BitBoard[] helperBoards;
+    private final ExecutorService helperPool;
+    private GameBoard boundBoard;
+    private IncrementalEvaluator evaluator;
+    private Frontier frontier;
+    private int[][] moveBuffers = new int[0][0];
+    private int[][] orderBuffers = new int[0][0];
+    private int[][] killers = new int[0][0];
+    private int[][] history = new int[2][0];
+    private int[][] pvTable = new int[0][0];
+    private int[] pvLength = new int[0];
+    private int[] previousPv = new int[0];
+    private int previousPvLength;
+    private boolean followPv;
+    private int[] rootTies = new int[0];
+    private int rootCell = NO_CELL;
+    private final Random random = new Random();
+    private int boardSize;
+    private long nodes;
+    private int completedDepth;
+    private long qnodes;
+    private long ttProbes;
+    private long ttHits;
+    private long betaCutoffs;
+    private long firstMoveCutoffs;
+    private int researches;
+    private long[] depthNanos = new long[0];
+    private long[] depthNodes = new long[0];
+    private SearchStats.StopReason stopReason = SearchStats.StopReason.DEPTH_LIMIT;
+    private int lastScore;
+    private SearchStats lastStats;
+    private TimeManager timeManager = new TimeManager();
+    private long nodeLimit = Long.MAX_VALUE;
+    private TimeManager activeManager;
+    private int pollCountdown;
+    private int rootNonLosing;
+    private int analysisLines = 1;
+    private SubmissionPublisher<Analysis> analysisPublisher;
+    private long analysisBudgetMs;
+    private int[] excludedRoots = new int[0];
+    private int excludedCount;
+    private int[] lineScores = new int[0];
+    private int previousLines;
 
     public MinimaxSearch(EvaluationFunction eval, MoveGenerator generator) {
+        this(eval, generator, new TranspositionTable());
+    }
+
+    public MinimaxSearch(EvaluationFunction eval, MoveGenerator generator, TranspositionTable table) {
+        this(eval, generator, table, 1);
+    }
+
+    // With more than one thread the search runs Lazy SMP: helper threads search private
+    // board copies through the shared table and only the calling thread's result is used.
+    public MinimaxSearch(EvaluationFunction eval, MoveGenerator generator, TranspositionTable table, int threads) {
+        if (threads < 1) throw new IllegalArgumentException("Thread count must be at least 1: " + threads);
         this.eval = eval;
         this.generator = generator;
+        this.table = table;
+        this.helpers = new MinimaxSearch[threads - 1];
+        this.helperBoards = new BitBoard[threads - 1];
+        for (int i = 0; i < helpers.length; i++) {
+            helpers[i] = new MinimaxSearch(eval, generator, table, 1);
+        }
+        this.helperPool = helpers.length == 0 ? null : Executors.newFixedThreadPool(helpers.length, runnable -> {
+            Thread t = new Thread(runnable, "AI-Search-Helper");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return table;
+    }
+
+    public TimeManager getTimeManager() {
+        return timeManager;
+    }
+
+    // Applies from the next search; the manager only governs the calling thread, and helper
+    // threads stop with it.
+    public void setTimeManager(TimeManager timeManager) {
+        this.timeManager = timeManager;
+    }
+
+    public int getThreads() {
+        return helpers.length + 1;
+    }
+
+    public long getNodeCount() {
+        long total = nodes;
+        for (MinimaxSearch helper : helpers) {
+            total += helper.nodes;
+        }
+        return total;
+    }
+
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    // Cell at index of the last completed iteration's principal variation, which starts with
+    // the chosen move, or NO_CELL past its end.
+    int principalVariationCell(int index) {
+        return index < previousPvLength ? previousPv[index] : NO_CELL;
+    }
+
+    // Score of the last searchMove from the searching side's point of view.
+    public int getLastScore() {
+        return lastScore;
+    }
+
+    public SearchStats getLastStats() {
+        return lastStats;
+    }
+
+    // After every completed depth the calling thread also searches the runner-up root moves,
+    // each with the better ones excluded, and offers the best lines to publisher. An offer a
+    // subscriber has no room for is dropped rather than waited for. Null turns analysis off.
+    // The runner-up lines get their own ANALYSIS_SHARE of the time limit on top of the move's,
+    // so the move is searched as deeply as without analysis.
+    public void setAnalysis(int lines, SubmissionPublisher<Analysis> publisher) {
+        if (lines < 1) throw new IllegalArgumentException("Analysis needs at least one line: " + lines);
+        this.analysisLines = publisher == null ? 1 : lines;
+        this.analysisPublisher = publisher;
+        this.excludedRoots = new int[analysisLines];
+        this.lineScores = new int[analysisLines];
+    }
+
+    // Fixes the choice among equally scored root moves, for reproducible games.
+    public void setSeed(long seed) {
+        random.setSeed(seed);
+    }
+
+    public void shutdown() {
+        if (helperPool != null) helperPool.shutdownNow();
+        unbind();
+        for (MinimaxSearch helper : helpers) {
+            helper.unbind();
+        }
     }
 
-    public MoveEvaluation search(Board board, int maxDepth, char maxPlayer, char minPlayer, long timeLimitMs, AtomicBoolean abortFlag) {
-        MoveEvaluation best = new MoveEvaluation(null, MoveEvaluation.minimum());
+    // The result carries a SearchStats; every call also emits a SearchEvent to Flight Recorder.
+    public MoveEvaluation search(GameBoard board, int maxDepth, char maxPlayer, char minPlayer, long timeLimitMs, AtomicBoolean abortFlag) {
+        int move = searchMove(board, maxDepth, maxPlayer, minPlayer, timeLimitMs, abortFlag);
+        return new MoveEvaluation(PackedMove.toGomokuMove(move), lastScore, lastStats);
+    }
+
+    // As search, returning the move packed (PackedMove.NONE without one) and leaving the score
+    // and stats in getLastScore and getLastStats, so that a search allocates next to nothing.
+    public int searchMove(GameBoard board, int maxDepth, char maxPlayer, char minPlayer, long timeLimitMs, AtomicBoolean abortFlag) {
+        // The first event object loads Flight Recorder, a few hundred milliseconds, so events
+        // are only made once it is running.
+        SearchEvent event = FlightRecorder.isInitialized() ? new SearchEvent() : null;
+        if (event != null) event.begin();
+        long start = System.nanoTime();
         long deadline = System.currentTimeMillis() + timeLimitMs;
+        analysisBudgetMs = (long) (timeLimitMs * ANALYSIS_SHARE);
+        timeManager.start(timeLimitMs);
+        table.prepare(board.getSize());
+        table.newSearch();
+        bind(board);
+
+        // A forcing win found by threat-space search needs no full-width search at all.
+        int threatWin = threats.findWin(board, evaluator, maxPlayer, minPlayer, System.currentTimeMillis() + timeLimitMs / THREAT_TIME_SHARE);
+        if (threatWin != ThreatSpaceSearch.NO_MOVE) {
+            boardSize = board.getSize();
+            resetCounters();
+            for (MinimaxSearch helper : helpers) {
+                helper.resetCounters();
+            }
+            qnodes = threats.getNodeCount();
+            completedDepth = 0;
+            previousPvLength = 0;
+            stopReason = SearchStats.StopReason.THREAT_WIN;
+            if (analysisPublisher != null) {
+                int move = PackedMove.pack(threatWin / boardSize, threatWin % boardSize, maxPlayer);
+                analysisPublisher.offer(new Analysis(maxPlayer, 0, qnodes, System.nanoTime() - start, new int[] {move},
+                    new int[] {MoveEvaluation.maximum()}, new int[][] {{move}}), null);
+            }
+            return finish(threatWin, MoveEvaluation.maximum(), maxPlayer, event, start, maxDepth);
+        }
 
-        for (int depth = 1; depth <= maxDepth; depth++) {
+        if (helpers.length == 0) {
+            int cell = iterate(board, 1, maxDepth, maxPlayer, minPlayer, deadline, abortFlag, timeManager);
+            return finish(cell, lastScore, maxPlayer, event, start, maxDepth);
+        }
+
+        // The calling thread's deadline moves on by its analysis time, so helpers may run that
+        // much longer; the stop flag ends them with it.
+        long helperDeadline = deadline + analysisBudgetMs;
+        // Odd helpers start one ply deeper so the threads spread over different depths.
+        AtomicBoolean stop = new AtomicBoolean(false);
+        List<Future<?>> running = new ArrayList<>(helpers.length);
+        for (int i = 0; i < helpers.length; i++) {
+            MinimaxSearch helper = helpers[i];
+            // Helper boards are kept between searches and only the changed cells are updated.
+            if (helperBoards[i] == null || helperBoards[i].getSize() != board.getSize()) {
+                helperBoards[i] = BitBoard.of(board);
+            } else {
+                helperBoards[i].copyFrom(board);
+            }
+            BitBoard helperBoard = helperBoards[i];
+            int startDepth = Math.min(maxDepth, 1 + (i & 1));
+            running.add(helperPool.submit(() -> helper.iterate(helperBoard, startDepth, maxDepth, maxPlayer, minPlayer, helperDeadline, stop, null)));
+        }
+        int cell;
+        try {
+            cell = iterate(board, 1, maxDepth, maxPlayer, minPlayer, deadline, abortFlag, timeManager);
+        } finally {
+            stop.set(true);
+            for (Future<?> helper : running) {
+                try {
+                    helper.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ignored) {
+                    // A failed helper only loses its table contributions.
+                }
+            }
+        }
+        return finish(cell, lastScore, maxPlayer, event, start, maxDepth);
+    }
+
+    // Sums the counters of all threads once the helpers have stopped.
+    private int finish(int cell, int score, char player, SearchEvent event, long start, int maxDepth) {
+        long totalNodes = nodes;
+        long totalQnodes = qnodes;
+        long probes = ttProbes;
+        long hits = ttHits;
+        long cutoffs = betaCutoffs;
+        long firstCutoffs = firstMoveCutoffs;
+        for (MinimaxSearch helper : helpers) {
+            totalNodes += helper.nodes;
+            totalQnodes += helper.qnodes;
+            probes += helper.ttProbes;
+            hits += helper.ttHits;
+            cutoffs += helper.betaCutoffs;
+            firstCutoffs += helper.firstMoveCutoffs;
+        }
+        lastScore = score;
+        lastStats = new SearchStats(stopReason, completedDepth, totalNodes, totalQnodes, probes, hits, cutoffs, firstCutoffs,
+            System.nanoTime() - start, Arrays.copyOf(depthNanos, completedDepth + 1), Arrays.copyOf(depthNodes, completedDepth + 1));
+
+        if (event != null && event.shouldCommit()) {
+            event.boardSize = boardSize;
+            event.maxDepth = maxDepth;
+            event.completedDepth = completedDepth;
+            event.stopReason = stopReason.name();
+            event.move = cell == NO_CELL ? null : cell / boardSize + "," + cell % boardSize;
+            event.score = score;
+            event.threads = getThreads();
+            event.nodes = totalNodes;
+            event.qnodes = totalQnodes;
+            event.ttProbes = probes;
+            event.ttHits = hits;
+            event.betaCutoffs = cutoffs;
+            event.firstMoveCutoffs = firstCutoffs;
+            event.commit();
+        }
+        return cell == NO_CELL ? PackedMove.NONE : PackedMove.pack(cell / boardSize, cell % boardSize, player);
+    }
+
+    private void resetCounters() {
+        nodes = 0;
+        qnodes = 0;
+        ttProbes = 0;
+        ttHits = 0;
+        betaCutoffs = 0;
+        firstMoveCutoffs = 0;
+    }
+
+    // Returns the best cell, or NO_CELL, and leaves its score in lastScore. Helper threads
+    // pass no time manager and run until the deadline or the stop flag.
+    private int iterate(GameBoard board, int startDepth, int maxDepth, char maxPlayer, char minPlayer, long deadline, AtomicBoolean abortFlag, TimeManager manager) {
+        int bestCell = NO_CELL;
+        int bestScore = MoveEvaluation.minimum();
+        int n = board.getSize();
+        boardSize = n;
+        long iterateStart = System.nanoTime();
+        long analysisLeftMs = analysisBudgetMs;
+        long analysisNodes = 0;
+        resetCounters();
+        completedDepth = 0;
+        previousLines = 0;
+        nodeLimit = manager == null ? Long.MAX_VALUE : manager.nodeLimit();
+        activeManager = manager;
+        pollCountdown = 1;
+
+        if (moveBuffers.length < maxDepth + 1 || moveBuffers[0].length != n * n) {
+            moveBuffers = new int[maxDepth + 1][n * n];
+            orderBuffers = new int[maxDepth + 1][n * n];
+            killers = new int[maxDepth + 1][2];
+            pvTable = new int[maxDepth + 1][maxDepth + 1];
+            pvLength = new int[maxDepth + 1];
+            previousPv = new int[maxDepth + 1];
+            rootTies = new int[n * n];
+        }
+        if (depthNanos.length < maxDepth + 1) {
+            depthNanos = new long[maxDepth + 1];
+            depthNodes = new long[maxDepth + 1];
+        }
+        Arrays.fill(depthNanos, 0L);
+        Arrays.fill(depthNodes, 0L);
+        if (history[0].length != n * n) {
+            history = new int[2][n * n];
+        }
+        // History carries over between searches at half weight; killers and the PV do not.
+        for (int[] playerHistory : history) {
+            for (int i = 0; i < playerHistory.length; i++) {
+                playerHistory[i] >>= 1;
+            }
+        }
+        for (int[] plyKillers : killers) {
+            plyKillers[0] = NO_CELL;
+            plyKillers[1] = NO_CELL;
+        }
+        previousPvLength = 0;
+
+        bind(board);
+        stopReason = SearchStats.StopReason.DEPTH_LIMIT;
+        for (int depth = startDepth; depth <= maxDepth; depth++) {
+            IterationEvent event = FlightRecorder.isInitialized() ? new IterationEvent() : null;
+            if (event != null) event.begin();
+            long iterationStart = System.nanoTime();
+            long nodesBefore = nodes;
+            researches = 0;
             try {
-                MoveEvaluation result = minimax(board, depth, MoveEvaluation.minimum(), MoveEvaluation.maximum(), true, maxPlayer, minPlayer, deadline, abortFlag);
-                if (result != null && result.move != null) best = result;
-                else if (result != null) best = new MoveEvaluation(result.score);
+                int score = aspirate(board, depth, bestScore, depth > startDepth, maxPlayer, minPlayer, deadline, abortFlag);
+                bestCell = rootCell;
+                bestScore = score;
+                completedDepth = depth;
+                previousPvLength = pvLength[0];
+                System.arraycopy(pvTable[0], 0, previousPv, 0, previousPvLength);
+                depthNanos[depth] = System.nanoTime() - iterationStart;
+                depthNodes[depth] = nodes - nodesBefore;
+                if (event != null) {
+                    event.completed = true;
+                    event.score = score;
+                }
+                // Helper threads have no publisher. The further lines are not charged to the
+                // move: its deadline, clock and node budget move on by what they took.
+                if (analysisPublisher != null && bestCell != NO_CELL) {
+                    long analysisStart = System.currentTimeMillis();
+                    long nodesBeforeAnalysis = nodes;
+                    analyse(board, depth, startDepth, bestCell, bestScore, maxPlayer, minPlayer, analysisStart + analysisLeftMs, abortFlag, iterateStart);
+                    long spent = System.currentTimeMillis() - analysisStart;
+                    analysisLeftMs -= spent;
+                    deadline += spent;
+                    if (manager != null) manager.pause(spent);
+                    analysisNodes += nodes - nodesBeforeAnalysis;
+                    if (nodeLimit != Long.MAX_VALUE) nodeLimit += nodes - nodesBeforeAnalysis;
+                }
             } catch (SearchTimeoutException e) {
+                stopReason = abortFlag != null && abortFlag.get() ? SearchStats.StopReason.ABORTED :
+                    nodes >= nodeLimit ? SearchStats.StopReason.NODE_LIMIT : SearchStats.StopReason.TIMEOUT;
+                break;
+            } finally {
+                if (event != null && event.shouldCommit()) {
+                    event.depth = depth;
+                    event.nodes = nodes - nodesBefore;
+                    event.researches = researches;
+                    event.commit();
+                }
+            }
+            if (abortFlag != null && abortFlag.get()) {
+                stopReason = SearchStats.StopReason.ABORTED;
                 break;
             }
-            if (abortFlag != null && abortFlag.get()) break;
+            // A proven win or loss cannot change at a greater depth.
+            if (Math.abs(bestScore) == MoveEvaluation.maximum()) {
+                stopReason = SearchStats.StopReason.PROVEN;
+                break;
+            }
+            if (manager != null && depth < maxDepth) {
+                SearchStats.StopReason early = manager.afterIteration(depth, bestCell, bestScore, rootNonLosing, nodes - analysisNodes);
+                if (early != null) {
+                    stopReason = early;
+                    break;
+                }
+            }
         }
 
-        if (best.move == null) {
-            List<GomokuMove> moves = generator.generateMoves(board, maxPlayer);
-            if (!moves.isEmpty()) {
-                return new MoveEvaluation(moves.get(0), eval.evaluate(board, maxPlayer, minPlayer));
+        if (bestCell == NO_CELL) {
+            // Not even depth 1 finished: fall back to any candidate, then to any empty cell.
+            int count = generator.generateMoves(frontier, board, moveBuffers[0]);
+            bestCell = count > 0 ? moveBuffers[0][0] : findEmptyCell(board);
+            bestScore = bestCell == NO_CELL ? MoveEvaluation.minimum() : evaluator.evaluate(maxPlayer, minPlayer);
+        }
+        lastScore = bestScore;
+        return bestCell;
+    }
+
+    // The best line is the iteration's own result; each further line is the best root move
+    // left once the earlier ones are excluded, searched through the same table until the
+    // analysis deadline. Running out of analysis time publishes the lines found so far; an
+    // abort or a rearmed deadline still stops the search.
+    private void analyse(GameBoard board, int depth, int startDepth, int bestCell, int bestScore, char player, char opponent,
+                         long deadline, AtomicBoolean abortFlag, long start) {
+        int[] cells = new int[analysisLines];
+        int[] scores = new int[analysisLines];
+        int[][] variations = new int[analysisLines][];
+        cells[0] = bestCell;
+        scores[0] = bestScore;
+        variations[0] = packVariation(previousPv, previousPvLength, player, opponent);
+        int found = 1;
+        int nonLosing = rootNonLosing;
+        excludedRoots[0] = bestCell;
+        excludedCount = 1;
+        try {
+            for (; found < analysisLines && System.currentTimeMillis() < deadline; found++) {
+                int score = aspirate(board, depth, lineScores[found], depth > startDepth && found < previousLines, player, opponent, deadline, abortFlag);
+                if (rootCell == NO_CELL) break;
+                cells[found] = rootCell;
+                scores[found] = score;
+                variations[found] = packVariation(pvTable[0], pvLength[0], player, opponent);
+                excludedRoots[excludedCount++] = rootCell;
             }
-            return findAnyMove(board, maxPlayer, minPlayer);
+        } catch (SearchTimeoutException e) {
+            if ((abortFlag != null && abortFlag.get()) || (activeManager != null && System.currentTimeMillis() >= activeManager.deadlineMs())) throw e;
+        } finally {
+            excludedCount = 0;
+            rootNonLosing = nonLosing;
+        }
+        System.arraycopy(scores, 0, lineScores, 0, found);
+        previousLines = found;
+        int[] moves = new int[found];
+        for (int i = 0; i < found; i++) {
+            moves[i] = PackedMove.pack(cells[i] / boardSize, cells[i] % boardSize, player);
         }
+        analysisPublisher.offer(new Analysis(player, depth, nodes, System.nanoTime() - start, moves,
+            Arrays.copyOf(scores, found), Arrays.copyOf(variations, found)), null);
+    }
 
-        return best;
+    private int[] packVariation(int[] cells, int length, char player, char opponent) {
+        int[] moves = new int[length];
+        for (int i = 0; i < length; i++) {
+            moves[i] = PackedMove.pack(cells[i] / boardSize, cells[i] % boardSize, i % 2 == 0 ? player : opponent);
+        }
+        return moves;
+    }
+
+    private boolean isExcludedRoot(int cell) {
+        for (int i = 0; i < excludedCount; i++) {
+            if (excludedRoots[i] == cell) return true;
+        }
+        return false;
     }
 
-    private MoveEvaluation findAnyMove(Board board, char maxPlayer, char minPlayer) {
+    // The evaluator and frontier stay attached to the last searched board between searches,
+    // so searching it again needs no rebuild; another board of the same size reuses their arrays.
+    private void bind(GameBoard board) {
+        if (board == boundBoard) return;
+        unbind();
+        if (evaluator != null && evaluator.boardSize() == board.getSize()) {
+            evaluator.reset(board);
+            frontier.reset(board);
+            board.addListener(evaluator);
+            board.addListener(frontier);
+        } else {
+            evaluator = eval.track(board);
+            frontier = generator.track(board);
+        }
+        boundBoard = board;
+    }
+
+    private void unbind() {
+        if (boundBoard == null) return;
+        evaluator.detach();
+        frontier.detach();
+        boundBoard = null;
+    }
+
+    // Searches a window around the previous iteration's score and widens whichever side
+    // fails until the score lands inside it; proven results always get the full window.
+    private int aspirate(GameBoard board, int depth, int previous, boolean hasPrevious, char player, char opponent, long deadline, AtomicBoolean abortFlag) {
+        int alpha = MoveEvaluation.minimum();
+        int beta = MoveEvaluation.maximum();
+        int delta = ASPIRATION_WINDOW;
+        if (hasPrevious && Math.abs(previous) < MoveEvaluation.maximum()) {
+            alpha = Math.max(MoveEvaluation.minimum(), previous - delta);
+            beta = Math.min(MoveEvaluation.maximum(), previous + delta);
+        }
+        while (true) {
+            followPv = true;
+            int score = searchRoot(board, depth, alpha, beta, player, opponent, deadline, abortFlag);
+            if (score <= alpha && alpha > MoveEvaluation.minimum()) {
+                researches++;
+                delta *= 4;
+                alpha = delta > MAX_ASPIRATION_WINDOW ? MoveEvaluation.minimum() : Math.max(MoveEvaluation.minimum(), previous - delta);
+            } else if (score >= beta && beta < MoveEvaluation.maximum()) {
+                researches++;
+                delta *= 4;
+                beta = delta > MAX_ASPIRATION_WINDOW ? MoveEvaluation.maximum() : Math.min(MoveEvaluation.maximum(), previous + delta);
+            } else {
+                return score;
+            }
+        }
+    }
+
+    private int findEmptyCell(GameBoard board) {
         int n = board.getSize();
         for (int r = 0; r < n; r++) {
             for (int c = 0; c < n; c++) {
-                if (board.getSymbolAt(r, c) == Board.EMPTY) {
-                    return new MoveEvaluation(new GomokuMove(r, c, maxPlayer), eval.evaluate(board, maxPlayer, minPlayer));
-                }
+                if (board.getSymbolAt(r, c) == GameBoard.EMPTY) return r * n + c;
             }
         }
-        return new MoveEvaluation(MoveEvaluation.minimum());
+        return NO_CELL;
     }
 
-    private MoveEvaluation minimax(Board board, int depth, int alpha, int beta, boolean maximizing, char maxPlayer, char minPlayer, long deadline, AtomicBoolean abortFlag) {
+    // Root of the negamax search. Later moves are scouted against the best score minus one
+    // so that moves tying the best get an exact score, and one of the tied moves is picked
+    // at random; everywhere below the root equal scores simply fail low.
+    private int searchRoot(GameBoard board, int depth, int alpha, int beta, char player, char opponent, long deadline, AtomicBoolean abortFlag) {
         checkTimeout(deadline, abortFlag);
+        nodes++;
+        pvLength[0] = 0;
+        rootCell = NO_CELL;
+        rootNonLosing = -1;
+
+        if (evaluator.hasFive(player)) return MoveEvaluation.maximum();
+        if (evaluator.hasFive(opponent)) return MoveEvaluation.minimum();
+        if (board.isFull()) return evaluator.evaluate(player, opponent);
+
+        long key = board.getHash() ^ Zobrist.sideKey(player);
+        long entry = table.probe(key);
+        ttProbes++;
+        if (entry != TranspositionTable.MISS) ttHits++;
+        int ttMove = entry != TranspositionTable.MISS ? TranspositionTable.move(entry) : TranspositionTable.NO_MOVE;
+
+        int[] cells = moveBuffers[0];
+        int count = generator.generateMoves(frontier, board, cells);
+
+        int winningCell = findImmediateWin(board, cells, count, player);
+        if (winningCell != NO_CELL && excludedCount == 0) {
+            table.store(key, depth, TranspositionTable.EXACT, MoveEvaluation.maximum(), winningCell);
+            updatePv(0, winningCell);
+            rootCell = winningCell;
+            return MoveEvaluation.maximum();
+        }
 
-        if (WinChecker.checkWinAnywhere(board, maxPlayer)) return new MoveEvaluation(MoveEvaluation.maximum());
-        if (WinChecker.checkWinAnywhere(board, minPlayer)) return new MoveEvaluation(MoveEvaluation.minimum());
-        if (depth == 0 || board.isFull()) return new MoveEvaluation(eval.evaluate(board, maxPlayer, minPlayer));
-
-        char current = maximizing ? maxPlayer : minPlayer;
-        List<GomokuMove> moves = generator.generateMoves(board, current);
+        int pvMove = previousPvLength > 0 ? previousPv[0] : NO_CELL;
+        orderMoves(cells, count, 0, player, ttMove, pvMove);
+
+        int best = MoveEvaluation.minimum() - 1;
+        int ties = 0;
+        // Scores are fail-soft, so a move scored as lost is lost even when only scouted.
+        int nonLosing = 0;
+        int searched = 0;
+        boolean cutoff = false;
+        for (int i = 0; i < count; i++) {
+            int cell = cells[i];
+            if (excludedCount > 0 && isExcludedRoot(cell)) continue;
+            followPv = cell == pvMove;
+            board.placeSymbol(cell / boardSize, cell % boardSize, player);
+            int score;
+            try {
+                if (searched++ == 0) {
+                    score = -negamax(board, cell, depth - 1, 1, -beta, -alpha, opponent, player, deadline, abortFlag);
+                } else {
+                    int bound = Math.max(alpha, best - 1);
+                    score = -negamax(board, cell, depth - 1, 1, -bound - 1, -bound, opponent, player, deadline, abortFlag);
+                    if (score > bound && score < beta) {
+                        followPv = false;
+                        score = -negamax(board, cell, depth - 1, 1, -beta, -bound, opponent, player, deadline, abortFlag);
+                    }
+                }
+            } finally {
+                board.setSymbolAt(cell / boardSize, cell % boardSize, GameBoard.EMPTY);
+            }
 
-        GomokuMove winningMove = checkImmediateWin(board, moves, current, deadline, abortFlag);
-        if (winningMove != null) {
-            return new MoveEvaluation(winningMove, maximizing ? MoveEvaluation.maximum() : MoveEvaluation.minimum());
+            if (score > MoveEvaluation.minimum()) nonLosing++;
+            if (score > best) {
+                best = score;
+                ties = 0;
+                rootTies[ties++] = cell;
+                updatePv(0, cell);
+            } else if (score == best) {
+                rootTies[ties++] = cell;
+            }
+            if (best >= beta) {
+                betaCutoffs++;
+                if (searched == 1) firstMoveCutoffs++;
+                recordCutoff(0, depth, cell, player);
+                cutoff = true;
+                break;
+            }
         }
 
-        List<ScoredMove> scoredMoves = scoreMoves(board, moves, maxPlayer, minPlayer, deadline, abortFlag);
-        if (scoredMoves.isEmpty()) return new MoveEvaluation(eval.evaluate(board, maxPlayer, minPlayer));
-
-        sortMoves(scoredMoves, maximizing);
+        rootNonLosing = cutoff ? -1 : nonLosing;
+        rootCell = ties > 0 ? rootTies[ties == 1 ? 0 : random.nextInt(ties)] : NO_CELL;
+        if (rootCell != NO_CELL && rootCell != pvTable[0][0]) {
+            pvTable[0][0] = rootCell;
+            pvLength[0] = 1;
+        }
 
-        return maximizing ?
-            maximizeScore(board, depth, alpha, beta, maxPlayer, minPlayer, deadline, abortFlag, scoredMoves) :
-            minimizeScore(board, depth, alpha, beta, maxPlayer, minPlayer, deadline, abortFlag, scoredMoves);
+        // With root moves excluded the result is not the position's value.
+        if (excludedCount > 0) return best;
+        byte flag = best <= alpha ? TranspositionTable.UPPER_BOUND :
+            best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+        table.store(key, depth, flag, best, rootCell);
+        return best;
     }
 
-    private void checkTimeout(long deadline, AtomicBoolean abortFlag) {
-        if ((abortFlag != null && abortFlag.get()) || System.currentTimeMillis() >= deadline) {
-            throw new SearchTimeoutException();
+    // Scores are from the point of view of player, the side to move; the opponent has just
+    // played lastCell, and only that stone can have completed a five.
+    private int negamax(GameBoard board, int lastCell, int depth, int ply, int alpha, int beta, char player, char opponent, long deadline, AtomicBoolean abortFlag) {
+        checkTimeout(deadline, abortFlag);
+        nodes++;
+        pvLength[ply] = ply;
+        boolean onPv = followPv;
+
+        if (WinChecker.checkWin(board, lastCell / boardSize, lastCell % boardSize, opponent)) return MoveEvaluation.minimum();
+        if (board.isFull()) return evaluator.evaluate(player, opponent);
+        if (depth == 0) {
+            // Quiet leaves still lose to a short run of fours, so those are proven before evaluating.
+            if (evaluator.canMakeFour(player)) {
+                int win = threats.findVcf(board, evaluator, player, opponent, LEAF_VCF_DEPTH, LEAF_VCF_NODES);
+                qnodes += threats.getNodeCount();
+                if (win != ThreatSpaceSearch.NO_MOVE) return MoveEvaluation.maximum();
+            }
+            return evaluator.evaluate(player, opponent);
         }
-    }
 
-    private GomokuMove checkImmediateWin(Board board, List<GomokuMove> moves, char player, long deadline, AtomicBoolean abortFlag) {
-        for (GomokuMove move : moves) {
-            checkTimeout(deadline, abortFlag);
-            move.execute(board);
-            boolean wins = WinChecker.checkWin(board, move.getRow(), move.getCol(), player);
-            move.undo(board);
-            if (wins) return move;
+        long key = board.getHash() ^ Zobrist.sideKey(player);
+        int alphaOrig = alpha;
+        int ttMove = TranspositionTable.NO_MOVE;
+
+        long entry = table.probe(key);
+        ttProbes++;
+        if (entry != TranspositionTable.MISS) {
+            ttHits++;
+            ttMove = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                int score = TranspositionTable.score(entry);
+                byte flag = TranspositionTable.flag(entry);
+                if (flag == TranspositionTable.EXACT) return score;
+                if (flag == TranspositionTable.LOWER_BOUND ? score >= beta : score <= alpha) return score;
+            }
         }
-        return null;
-    }
 
-    private List<ScoredMove> scoreMoves(Board board, List<GomokuMove> moves, char maxPlayer, char minPlayer, long deadline, AtomicBoolean abortFlag) {
-        List<ScoredMove> scored = new ArrayList<>();
-        for (GomokuMove move : moves) {
-            checkTimeout(deadline, abortFlag);
-            move.execute(board);
-            int h = eval.evaluate(board, maxPlayer, minPlayer);
-            scored.add(new ScoredMove(move, h));
-            move.undo(board);
-        }
-        return scored;
-    }
+        int[] cells = moveBuffers[ply];
+        int count = generator.generateMoves(frontier, board, cells);
 
-    private void sortMoves(List<ScoredMove> moves, boolean maximizing) {
-        moves.sort(maximizing ? Comparator.comparingInt((ScoredMove m) -> m.score).reversed() : Comparator.comparingInt(m -> m.score));
-    }
+        int winningCell = findImmediateWin(board, cells, count, player);
+        if (winningCell != NO_CELL) {
+            table.store(key, depth, TranspositionTable.EXACT, MoveEvaluation.maximum(), winningCell);
+            updatePv(ply, winningCell);
+            return MoveEvaluation.maximum();
+        }
 
-    private MoveEvaluation maximizeScore(Board board, int depth, int alpha, int beta, char maxPlayer, char minPlayer, long deadline, AtomicBoolean abortFlag, List<ScoredMove> moves) {
-        int bestVal = MoveEvaluation.minimum();
-        GomokuMove bestMove = null;
-        List<GomokuMove> equalMoves = new ArrayList<>();
+        if (count == 0) return evaluator.evaluate(player, opponent);
 
-        for (ScoredMove sm : moves) {
-            checkTimeout(deadline, abortFlag);
-            sm.move.execute(board);
-            MoveEvaluation child = minimax(board, depth - 1, alpha, beta, false, maxPlayer, minPlayer, deadline, abortFlag);
-            sm.move.undo(board);
+        int pvMove = onPv && ply < previousPvLength ? previousPv[ply] : NO_CELL;
+        orderMoves(cells, count, ply, player, ttMove, pvMove);
 
-            int score = child != null ? child.score : MoveEvaluation.minimum();
-            if (score > bestVal) {
-                bestVal = score;
-                bestMove = sm.move;
-                equalMoves.clear();
-                equalMoves.add(sm.move);
-            } else if (score == bestVal && bestMove != null) {
-                equalMoves.add(sm.move);
+        int best = MoveEvaluation.minimum();
+        int bestCell = NO_CELL;
+        for (int i = 0; i < count; i++) {
+            int cell = cells[i];
+            followPv = cell == pvMove;
+            board.placeSymbol(cell / boardSize, cell % boardSize, player);
+            int score;
+            try {
+                if (i == 0) {
+                    score = -negamax(board, cell, depth - 1, ply + 1, -beta, -alpha, opponent, player, deadline, abortFlag);
+                } else {
+                    score = -negamax(board, cell, depth - 1, ply + 1, -alpha - 1, -alpha, opponent, player, deadline, abortFlag);
+                    if (score > alpha && score < beta) {
+                        followPv = false;
+                        score = -negamax(board, cell, depth - 1, ply + 1, -beta, -alpha, opponent, player, deadline, abortFlag);
+                    }
+                }
+            } finally {
+                board.setSymbolAt(cell / boardSize, cell % boardSize, GameBoard.EMPTY);
             }
-            alpha = Math.max(alpha, bestVal);
-            if (alpha >= beta) break;
-        }
 
-        if (!equalMoves.isEmpty() && equalMoves.size() > 1) {
-            bestMove = equalMoves.get((int)(Math.random() * equalMoves.size()));
+            if (score > best) {
+                best = score;
+                bestCell = cell;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, cell);
+                }
+            }
+            if (alpha >= beta) {
+                betaCutoffs++;
+                if (i == 0) firstMoveCutoffs++;
+                recordCutoff(ply, depth, cell, player);
+                break;
+            }
         }
 
-        return bestMove != null ? new MoveEvaluation(bestMove, bestVal) : new MoveEvaluation(bestVal);
+        byte flag = best <= alphaOrig ? TranspositionTable.UPPER_BOUND :
+            best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+        table.store(key, depth, flag, best, bestCell);
+        return best;
     }
 
-    private MoveEvaluation minimizeScore(Board board, int depth, int alpha, int beta, char maxPlayer, char minPlayer, long deadline, AtomicBoolean abortFlag, List<ScoredMove> moves) {
-        int bestVal = MoveEvaluation.maximum();
-        GomokuMove bestMove = null;
-
-        for (ScoredMove sm : moves) {
-            checkTimeout(deadline, abortFlag);
-            sm.move.execute(board);
-            MoveEvaluation child = minimax(board, depth - 1, alpha, beta, true, maxPlayer, minPlayer, deadline, abortFlag);
-            sm.move.undo(board);
+    // Previous PV move, then the table move; the rest by how much they gain the mover
+    // statically. Killers get a small gain bonus rather than a fixed slot because a
+    // sibling's refutation rarely outranks a real threat, and history breaks ties.
+    private void orderMoves(int[] cells, int count, int ply, char player, int ttMove, int pvMove) {
+        int[] keys = orderBuffers[ply];
+        int[] playerHistory = history[BitBoard.colourIndex(player)];
+        for (int i = 0; i < count; i++) {
+            int cell = cells[i];
+            int orderKey;
+            if (cell == pvMove) orderKey = PV_BONUS;
+            else if (cell == ttMove) orderKey = TT_BONUS;
+            else {
+                int gain = evaluator.moveGain(cell / boardSize, cell % boardSize, player);
+                if (cell == killers[ply][0] || cell == killers[ply][1]) gain += KILLER_GAIN;
+                gain = Math.max(-MAX_ORDER_GAIN, Math.min(MAX_ORDER_GAIN, gain));
+                orderKey = gain * 32 + 31 - Integer.numberOfLeadingZeros(playerHistory[cell] + 1);
+            }
+            keys[i] = orderKey;
+        }
 
-            int score = child != null ? child.score : MoveEvaluation.maximum();
-            if (score < bestVal) {
-                bestVal = score;
-                bestMove = sm.move;
+        for (int i = 1; i < count; i++) {
+            int cell = cells[i];
+            int orderKey = keys[i];
+            int j = i - 1;
+            while (j >= 0 && keys[j] < orderKey) {
+                cells[j + 1] = cells[j];
+                keys[j + 1] = keys[j];
+                j--;
             }
-            beta = Math.min(beta, bestVal);
-            if (alpha >= beta) break;
+            cells[j + 1] = cell;
+            keys[j + 1] = orderKey;
         }
+    }
 
+    private void recordCutoff(int ply, int depth, int cell, char player) {
+        if (killers[ply][0] != cell) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = cell;
+        }
+        int[] playerHistory = history[BitBoard.colourIndex(player)];
+        playerHistory[cell] = Math.min(MAX_HISTORY, playerHistory[cell] + depth * depth);
+    }
 
-        return bestMove != null ? new MoveEvaluation(bestMove, bestVal) : new MoveEvaluation(bestVal);
+    private void updatePv(int ply, int cell) {
+        int[] line = pvTable[ply];
+        line[ply] = cell;
+        int childLength = ply + 1 < pvLength.length ? pvLength[ply + 1] : ply + 1;
+        for (int i = ply + 1; i < childLength; i++) {
+            line[i] = pvTable[ply + 1][i];
+        }
+        pvLength[ply] = Math.max(ply + 1, childLength);
     }
 
-    private static class ScoredMove {
-        final GomokuMove move;
-        final int score;
+    // The node budget is checked at every node; the clock, the abort flag and a deadline set by
+    // TimeManager.rearm only every POLL_INTERVAL nodes, which at a few hundred thousand nodes a
+    // second is a few milliseconds.
+    private void checkTimeout(long deadline, AtomicBoolean abortFlag) {
+        if (nodes >= nodeLimit) throw new SearchTimeoutException();
+        if (--pollCountdown > 0) return;
+        pollCountdown = POLL_INTERVAL;
+        long now = System.currentTimeMillis();
+        if ((abortFlag != null && abortFlag.get()) || now >= deadline || (activeManager != null && now >= activeManager.deadlineMs())) {
+            throw new SearchTimeoutException();
+        }
+    }
 
-        ScoredMove(GomokuMove move, int score) {
-            this.move = move;
-            this.score = score;
+    private int findImmediateWin(GameBoard board, int[] cells, int count, char player) {
+        for (int i = 0; i < count; i++) {
+            if (WinChecker.checkWin(board, cells[i] / boardSize, cells[i] % boardSize, player)) return cells[i];
         }
+        return NO_CELL;
     }
 
     static class SearchTimeoutException extends RuntimeException {}
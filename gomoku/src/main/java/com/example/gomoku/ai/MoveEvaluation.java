@@ -5,10 +5,17 @@ import com.example.gomoku.model.GomokuMove;
 public class MoveEvaluation {
     public final GomokuMove move;
     public final int score;
+    // Set on the results of MinimaxSearch.search, null elsewhere.
+    public final SearchStats stats;
 
     public MoveEvaluation(GomokuMove move, int score) {
+        this(move, score, null);
+    }
+
+    public MoveEvaluation(GomokuMove move, int score, SearchStats stats) {
         this.move = move;
         this.score = score;
+        this.stats = stats;
     }
 
     public MoveEvaluation(int score) {
@@ -1,7 +1,6 @@
 package com.example.gomoku.ai;
 
-import com.example.gomoku.game.WinChecker;
-import com.example.gomoku.model.Board;
+import com.example.gomoku.model.GameBoard;
 import com.example.gomoku.model.GomokuMove;
 
 import java.util.ArrayList;
@@ -11,91 +10,57 @@ public class MoveGenerator {
     private final int radius;
 
     public MoveGenerator(int radius) {
+        // Any winning or blocking cell touches a stone, so a radius of at least one covers tactics.
+        if (radius < 1) throw new IllegalArgumentException("Radius must be at least 1: " + radius);
         this.radius = radius;
     }
 
-    public List<GomokuMove> generateMoves(Board board, char player) {
-        int n = board.getSize();
-        if (isEmpty(board, n)) {
-            return List.of(new GomokuMove(n / 2, n / 2, player));
-        }
+    public int getRadius() {
+        return radius;
+    }
 
-        boolean[][] considered = new boolean[n][n];
-        List<GomokuMove> moves = new ArrayList<>();
+    public Frontier track(GameBoard board) {
+        Frontier frontier = new Frontier(board, radius);
+        board.addListener(frontier);
+        return frontier;
+    }
 
-        addNeighborMoves(board, n, player, considered, moves);
-        addTacticalMoves(board, n, player, considered, moves);
+    public List<GomokuMove> generateMoves(GameBoard board, char player) {
+        int n = board.getSize();
+        int[] cells = new int[n * n];
+        int count = generateMoves(new Frontier(board, radius), board, cells);
 
-        if (moves.isEmpty()) {
-            addAllEmptyMoves(board, n, player, moves);
+        List<GomokuMove> moves = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            moves.add(new GomokuMove(cells[i] / n, cells[i] % n, player));
         }
-
         return moves;
     }
 
-    private boolean isEmpty(Board board, int n) {
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                if (board.getSymbolAt(i, j) != Board.EMPTY) return false;
-            }
-        }
-        return true;
-    }
-
-    private void addNeighborMoves(Board board, int n, char player, boolean[][] considered, List<GomokuMove> moves) {
-        for (int r = 0; r < n; r++) {
-            for (int c = 0; c < n; c++) {
-                if (board.getSymbolAt(r, c) != Board.EMPTY) {
-                    for (int dr = -radius; dr <= radius; dr++) {
-                        for (int dc = -radius; dc <= radius; dc++) {
-                            int nr = r + dr, nc = c + dc;
-                            if (board.inBounds(nr, nc) && board.getSymbolAt(nr, nc) == Board.EMPTY && !considered[nr][nc]) {
-                                considered[nr][nc] = true;
-                                moves.add(new GomokuMove(nr, nc, player));
-                            }
-                        }
-                    }
-                }
-            }
+    // Writes candidate cell indices (row * size + col) into cells and returns how many were written.
+    public int generateMoves(Frontier frontier, GameBoard board, int[] cells) {
+        int n = board.getSize();
+        if (board.isEmpty()) {
+            cells[0] = (n / 2) * n + n / 2;
+            return 1;
         }
-    }
 
-    private void addTacticalMoves(Board board, int n, char player, boolean[][] considered, List<GomokuMove> moves) {
-        char opponent = (player == Board.BLACK) ? Board.WHITE : Board.BLACK;
-        for (int r = 0; r < n; r++) {
-            for (int c = 0; c < n; c++) {
-                if (board.getSymbolAt(r, c) == Board.EMPTY && !considered[r][c]) {
-                    if (isWinningMove(board, r, c, player) || isBlockingMove(board, r, c, opponent)) {
-                        considered[r][c] = true;
-                        moves.add(new GomokuMove(r, c, player));
-                    }
-                }
-            }
+        int count = frontier.collect(cells);
+        if (count == 0) {
+            count = addAllEmptyMoves(board, n, cells);
         }
+        return count;
     }
 
-    private boolean isWinningMove(Board board, int r, int c, char player) {
-        board.setSymbolAt(r, c, player);
-        boolean win = WinChecker.checkWin(board, r, c, player);
-        board.setSymbolAt(r, c, Board.EMPTY);
-        return win;
-    }
-
-    private boolean isBlockingMove(Board board, int r, int c, char opponent) {
-        board.setSymbolAt(r, c, opponent);
-        boolean block = WinChecker.checkWin(board, r, c, opponent);
-        board.setSymbolAt(r, c, Board.EMPTY);
-        return block;
-    }
-
-    private void addAllEmptyMoves(Board board, int n, char player, List<GomokuMove> moves) {
+    private int addAllEmptyMoves(GameBoard board, int n, int[] cells) {
+        int count = 0;
         for (int r = 0; r < n; r++) {
             for (int c = 0; c < n; c++) {
-                if (board.getSymbolAt(r, c) == Board.EMPTY) {
-                    moves.add(new GomokuMove(r, c, player));
+                if (board.getSymbolAt(r, c) == GameBoard.EMPTY) {
+                    cells[count++] = r * n + c;
                 }
             }
         }
+        return count;
     }
 }
-
@@ -0,0 +1,152 @@
+package com.example.gomoku.ai;
+
+import com.example.gomoku.model.GameBoard;
+import com.example.gomoku.model.GomokuMove;
+import com.example.gomoku.model.Zobrist;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+// Read-only book of position key -> weighted moves, memory-mapped so a lookup is a binary
+// search over the file's pages without reading the whole book.
+//
+// File layout (big-endian): int magic, short version, short board size, int record count,
+// then 12-byte records of long key, short cell, short weight, sorted by key and by weight
+// within a key. Keys and cells are in canonical form: of the 8 board symmetries, the one
+// giving the smallest key.
+public class OpeningBook {
+    static final int MAGIC = 0x474D4B42;
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 12;
+    static final int RECORD_BYTES = 12;
+    static final int SYMMETRIES = 8;
+
+    private final ByteBuffer buffer;
+    private final int boardSize;
+    private final int records;
+
+    private OpeningBook(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) throw new IOException("Not an opening book");
+        if (buffer.getShort(4) != VERSION) throw new IOException("Unsupported opening book version: " + buffer.getShort(4));
+        this.buffer = buffer;
+        this.boardSize = buffer.getShort(6);
+        this.records = buffer.getInt(8);
+        if ((long) HEADER_BYTES + (long) records * RECORD_BYTES > buffer.capacity()) throw new IOException("Truncated opening book");
+    }
+
+    public static OpeningBook open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public int size() {
+        return records;
+    }
+
+    // A book move for player drawn in proportion to the move weights, or null when the
+    // position is not in the book.
+    public GomokuMove choose(GameBoard board, char player, Random random) {
+        if (board.getSize() != boardSize) return null;
+        int[] symmetry = new int[1];
+        long key = canonicalKey(board, player, symmetry);
+
+        int first = lowerBound(key);
+        int total = 0;
+        int last = first;
+        while (last < records && keyAt(last) == key) {
+            total += weightAt(last);
+            last++;
+        }
+        if (total == 0) return null;
+
+        int pick = random.nextInt(total);
+        for (int i = first; i < last; i++) {
+            pick -= weightAt(i);
+            if (pick < 0) {
+                int cell = fromCanonical(symmetry[0], cellAt(i), boardSize);
+                int row = cell / boardSize, col = cell % boardSize;
+                // A key collision could point at an occupied cell; treat it as a miss.
+                if (!board.isValidMove(row, col)) return null;
+                return new GomokuMove(row, col, player);
+            }
+        }
+        return null;
+    }
+
+    private int lowerBound(long key) {
+        int low = 0, high = records;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keyAt(mid) < key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private long keyAt(int record) {
+        return buffer.getLong(HEADER_BYTES + record * RECORD_BYTES);
+    }
+
+    private int cellAt(int record) {
+        return buffer.getShort(HEADER_BYTES + record * RECORD_BYTES + 8) & 0xFFFF;
+    }
+
+    private int weightAt(int record) {
+        return buffer.getShort(HEADER_BYTES + record * RECORD_BYTES + 10) & 0xFFFF;
+    }
+
+    // Smallest of the position's keys under the 8 symmetries, with the symmetry that gives it.
+    static long canonicalKey(GameBoard board, char player, int[] symmetry) {
+        int n = board.getSize();
+        long[] keys = new long[SYMMETRIES];
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                char symbol = board.getSymbolAt(r, c);
+                if (symbol != GameBoard.BLACK && symbol != GameBoard.WHITE) continue;
+                for (int s = 0; s < SYMMETRIES; s++) {
+                    int cell = toCanonical(s, r, c, n);
+                    keys[s] ^= Zobrist.stoneKey(cell / n, cell % n, symbol);
+                }
+            }
+        }
+        int best = 0;
+        for (int s = 1; s < SYMMETRIES; s++) {
+            if (keys[s] < keys[best]) best = s;
+        }
+        symmetry[0] = best;
+        return keys[best] ^ Zobrist.sideKey(player);
+    }
+
+    // Symmetry bits: 1 transposes, 2 mirrors rows, 4 mirrors columns, applied in that order.
+    static int toCanonical(int symmetry, int row, int col, int n) {
+        if ((symmetry & 1) != 0) {
+            int t = row;
+            row = col;
+            col = t;
+        }
+        if ((symmetry & 2) != 0) row = n - 1 - row;
+        if ((symmetry & 4) != 0) col = n - 1 - col;
+        return row * n + col;
+    }
+
+    static int fromCanonical(int symmetry, int cell, int n) {
+        int row = cell / n, col = cell % n;
+        if ((symmetry & 4) != 0) col = n - 1 - col;
+        if ((symmetry & 2) != 0) row = n - 1 - row;
+        if ((symmetry & 1) != 0) {
+            int t = row;
+            row = col;
+            col = t;
+        }
+        return row * n + col;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.gomoku.ai;
+
+import com.example.gomoku.game.WinChecker;
+import com.example.gomoku.model.BitBoard;
+import com.example.gomoku.model.GameBoard;
+import com.example.gomoku.model.GomokuMove;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Usage: OpeningBookBuilder [output] [boardSize] [games] [bookPlies] [msPerMove] [seed]
+// Plays engine self-play games, sometimes swapping in a random nearby move during the
+// book plies so the openings vary, and writes the moves of those plies weighted by how
+// well they scored for the side that played them.
+public class OpeningBookBuilder {
+    public static final int MAX_MOVES_PER_POSITION = 8;
+
+    private static final double EXPLORATION = 0.25;
+    private static final int SEARCH_DEPTH = 8;
+    private static final int MAX_WEIGHT = 0xFFFF;
+
+    private final int boardSize;
+    private final Map<Long, Map<Integer, Integer>> positions = new HashMap<>();
+
+    public OpeningBookBuilder(int boardSize) {
+        if (boardSize < 5 || boardSize * boardSize > 0xFFFF) throw new IllegalArgumentException("Unsupported board size: " + boardSize);
+        this.boardSize = boardSize;
+    }
+
+    public int getPositionCount() {
+        return positions.size();
+    }
+
+    // Adds weight to the move (row, col) by player from the position on board.
+    public void add(GameBoard board, char player, int row, int col, int weight) {
+        if (board.getSize() != boardSize) throw new IllegalArgumentException("Board size " + board.getSize() + " does not match book size " + boardSize);
+        int[] symmetry = new int[1];
+        long key = OpeningBook.canonicalKey(board, player, symmetry);
+        int cell = OpeningBook.toCanonical(symmetry[0], row, col, boardSize);
+        positions.computeIfAbsent(key, k -> new HashMap<>()).merge(cell, weight, Integer::sum);
+    }
+
+    // Keeps the heaviest moves of each position and drops moves that never scored.
+    public void write(Path path) throws IOException {
+        Map<Long, List<int[]>> records = new TreeMap<>();
+        int count = 0;
+        for (Map.Entry<Long, Map<Integer, Integer>> position : positions.entrySet()) {
+            List<int[]> moves = new ArrayList<>();
+            for (Map.Entry<Integer, Integer> move : position.getValue().entrySet()) {
+                if (move.getValue() > 0) moves.add(new int[] {move.getKey(), Math.min(move.getValue(), MAX_WEIGHT)});
+            }
+            if (moves.isEmpty()) continue;
+            moves.sort((a, b) -> a[1] != b[1] ? Integer.compare(b[1], a[1]) : Integer.compare(a[0], b[0]));
+            if (moves.size() > MAX_MOVES_PER_POSITION) moves = new ArrayList<>(moves.subList(0, MAX_MOVES_PER_POSITION));
+            records.put(position.getKey(), moves);
+            count += moves.size();
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(OpeningBook.MAGIC);
+            out.writeShort(OpeningBook.VERSION);
+            out.writeShort(boardSize);
+            out.writeInt(count);
+            for (Map.Entry<Long, List<int[]>> position : records.entrySet()) {
+                for (int[] move : position.getValue()) {
+                    out.writeLong(position.getKey());
+                    out.writeShort(move[0]);
+                    out.writeShort(move[1]);
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path output = Paths.get(args.length > 0 ? args[0] : "opening-book.bin");
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int bookPlies = args.length > 3 ? Integer.parseInt(args[3]) : 8;
+        int msPerMove = args.length > 4 ? Integer.parseInt(args[4]) : 200;
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(size);
+        MoveGenerator generator = new MoveGenerator(1);
+        MinimaxSearch search = new MinimaxSearch(new EvaluationFunction(), new MoveGenerator(2));
+        Random random = new Random(seed);
+        int[] results = new int[3];
+        try {
+            for (int game = 0; game < games; game++) {
+                search.setSeed(random.nextLong());
+                BitBoard board = new BitBoard(size);
+                List<GomokuMove> moves = new ArrayList<>();
+                char player = GameBoard.BLACK;
+                char winner = GameBoard.EMPTY;
+                while (!board.isFull()) {
+                    char opponent = player == GameBoard.BLACK ? GameBoard.WHITE : GameBoard.BLACK;
+                    GomokuMove move;
+                    if (moves.size() > 0 && moves.size() < bookPlies && random.nextDouble() < EXPLORATION) {
+                        List<GomokuMove> candidates = generator.generateMoves(board, player);
+                        move = candidates.get(random.nextInt(candidates.size()));
+                    } else {
+                        move = search.search(board, SEARCH_DEPTH, player, opponent, msPerMove, new AtomicBoolean(false)).move;
+                    }
+                    moves.add(move);
+                    board.placeSymbol(move.getRow(), move.getCol(), player);
+                    if (WinChecker.checkWin(board, move.getRow(), move.getCol(), player)) {
+                        winner = player;
+                        break;
+                    }
+                    player = opponent;
+                }
+                results[winner == GameBoard.BLACK ? 0 : winner == GameBoard.WHITE ? 1 : 2]++;
+
+                // Replay the book plies on a fresh board: a win is worth 2, a draw 1.
+                BitBoard replay = new BitBoard(size);
+                for (int ply = 0; ply < Math.min(bookPlies, moves.size()); ply++) {
+                    GomokuMove move = moves.get(ply);
+                    int weight = winner == GameBoard.EMPTY ? 1 : winner == move.getSymbol() ? 2 : 0;
+                    builder.add(replay, move.getSymbol(), move.getRow(), move.getCol(), weight);
+                    replay.placeSymbol(move.getRow(), move.getCol(), move.getSymbol());
+                }
+                System.out.printf("game %d/%d: %s in %d moves, %d positions%n", game + 1, games,
+                    winner == GameBoard.EMPTY ? "draw" : winner + " wins", moves.size(), builder.getPositionCount());
+            }
+        } finally {
+            search.shutdown();
+        }
+        builder.write(output);
+        System.out.printf("Black %d, White %d, draws %d; wrote %s%n", results[0], results[1], results[2], output);
+    }
+}
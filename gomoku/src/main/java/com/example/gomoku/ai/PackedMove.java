@@ -0,0 +1,38 @@
+package com.example.gomoku.ai;
+
+import com.example.gomoku.model.BitBoard;
+import com.example.gomoku.model.GameBoard;
+import com.example.gomoku.model.GomokuMove;
+
+// A move packed into an int so the search never allocates one: column in bits 0-7, row in
+// bits 8-15 and colour index in bit 16. GomokuMove objects are only made at the AIPlayer boundary.
+public final class PackedMove {
+    public static final int NONE = -1;
+
+    private PackedMove() {
+    }
+
+    public static int pack(int row, int col, char symbol) {
+        return BitBoard.colourIndex(symbol) << 16 | row << 8 | col;
+    }
+
+    public static int of(GomokuMove move) {
+        return move == null ? NONE : pack(move.getRow(), move.getCol(), move.getSymbol());
+    }
+
+    public static int row(int move) {
+        return move >>> 8 & 0xFF;
+    }
+
+    public static int col(int move) {
+        return move & 0xFF;
+    }
+
+    public static char symbol(int move) {
+        return (move >>> 16 & 1) == 0 ? GameBoard.BLACK : GameBoard.WHITE;
+    }
+
+    public static GomokuMove toGomokuMove(int move) {
+        return move == NONE ? null : new GomokuMove(row(move), col(move), symbol(move));
+    }
+}
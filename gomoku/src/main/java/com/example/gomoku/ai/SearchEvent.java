@@ -0,0 +1,53 @@
+package com.example.gomoku.ai;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.gomoku.Search")
+@Label("Search")
+@Category({"Gomoku", "Search"})
+@Description("One MinimaxSearch.search call")
+@StackTrace(false)
+class SearchEvent extends jdk.jfr.Event {
+    @Label("Board Size")
+    int boardSize;
+
+    @Label("Max Depth")
+    int maxDepth;
+
+    @Label("Completed Depth")
+    int completedDepth;
+
+    @Label("Stop Reason")
+    String stopReason;
+
+    @Label("Move")
+    String move;
+
+    @Label("Score")
+    int score;
+
+    @Label("Threads")
+    int threads;
+
+    @Label("Nodes")
+    long nodes;
+
+    @Label("Leaf Threat Nodes")
+    long qnodes;
+
+    @Label("Table Probes")
+    long ttProbes;
+
+    @Label("Table Hits")
+    long ttHits;
+
+    @Label("Beta Cutoffs")
+    long betaCutoffs;
+
+    @Label("First Move Cutoffs")
+    long firstMoveCutoffs;
+}
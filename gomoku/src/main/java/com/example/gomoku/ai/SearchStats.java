@@ -0,0 +1,130 @@
+package com.example.gomoku.ai;
+
+import java.util.Arrays;
+
+// What one MinimaxSearch.search call did. Node, table and cutoff counts are summed over
+// every search thread; the per-depth figures come from the calling thread's iterations.
+public class SearchStats {
+    public enum StopReason {
+        // Every depth up to the maximum was searched.
+        DEPTH_LIMIT,
+        // The time limit ended the search.
+        TIMEOUT,
+        // The abort flag ended the search.
+        ABORTED,
+        // A won or lost score was proven, so deeper iterations could not change it.
+        PROVEN,
+        // Threat-space search found a forced win before the full-width search started.
+        THREAT_WIN,
+        // The node budget ended the search.
+        NODE_LIMIT,
+        // The time manager's soft limit was reached, so no further iteration was started.
+        SOFT_LIMIT,
+        // Only one root move did not lose.
+        SINGLE_REPLY
+    }
+
+    private final StopReason stopReason;
+    private final int completedDepth;
+    private final long nodes;
+    private final long qnodes;
+    private final long ttProbes;
+    private final long ttHits;
+    private final long betaCutoffs;
+    private final long firstMoveCutoffs;
+    private final long elapsedNanos;
+    private final long[] depthNanos;
+    private final long[] depthNodes;
+
+    SearchStats(StopReason stopReason, int completedDepth, long nodes, long qnodes, long ttProbes, long ttHits,
+                long betaCutoffs, long firstMoveCutoffs, long elapsedNanos, long[] depthNanos, long[] depthNodes) {
+        this.stopReason = stopReason;
+        this.completedDepth = completedDepth;
+        this.nodes = nodes;
+        this.qnodes = qnodes;
+        this.ttProbes = ttProbes;
+        this.ttHits = ttHits;
+        this.betaCutoffs = betaCutoffs;
+        this.firstMoveCutoffs = firstMoveCutoffs;
+        this.elapsedNanos = elapsedNanos;
+        this.depthNanos = depthNanos;
+        this.depthNodes = depthNodes;
+    }
+
+    public StopReason getStopReason() {
+        return stopReason;
+    }
+
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    // Nodes of the threat searches that settle depth-0 leaves.
+    public long getQnodes() {
+        return qnodes;
+    }
+
+    public long getTtProbes() {
+        return ttProbes;
+    }
+
+    public long getTtHits() {
+        return ttHits;
+    }
+
+    public long getBetaCutoffs() {
+        return betaCutoffs;
+    }
+
+    public long getFirstMoveCutoffs() {
+        return firstMoveCutoffs;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    // Time of the iteration that completed depth, from 1 to getCompletedDepth.
+    public long getDepthNanos(int depth) {
+        return depthNanos[depth];
+    }
+
+    // Nodes the calling thread searched in the iteration that completed depth.
+    public long getDepthNodes(int depth) {
+        return depthNodes[depth];
+    }
+
+    public double getTtHitRate() {
+        return ttProbes == 0 ? 0.0 : (double) ttHits / ttProbes;
+    }
+
+    // Share of cutoffs made by the first move searched; close to 1 means good move ordering.
+    public double getFirstMoveCutoffRate() {
+        return betaCutoffs == 0 ? 0.0 : (double) firstMoveCutoffs / betaCutoffs;
+    }
+
+    // Effective branching factor: growth in nodes from the second-last to the last completed depth.
+    public double getBranchingFactor() {
+        if (completedDepth < 2 || depthNodes[completedDepth - 1] == 0) return 0.0;
+        return (double) depthNodes[completedDepth] / depthNodes[completedDepth - 1];
+    }
+
+    public double getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : nodes * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        long[] depthMs = new long[completedDepth];
+        for (int depth = 1; depth <= completedDepth; depth++) {
+            depthMs[depth - 1] = depthNanos[depth] / 1_000_000;
+        }
+        return String.format("SearchStats[stop=%s, depth=%d, nodes=%d, qnodes=%d, ttHitRate=%.1f%%, cutoffs=%d, firstMoveCutoffs=%.1f%%, ebf=%.2f, nps=%.0f, depthMs=%s]",
+            stopReason, completedDepth, nodes, qnodes, getTtHitRate() * 100, betaCutoffs, getFirstMoveCutoffRate() * 100,
+            getBranchingFactor(), getNodesPerSecond(), Arrays.toString(depthMs));
+    }
+}
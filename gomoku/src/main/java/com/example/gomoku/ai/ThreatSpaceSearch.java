@@ -0,0 +1,313 @@
+package com.example.gomoku.ai;
+
+import com.example.gomoku.model.BitBoard;
+import com.example.gomoku.model.GameBoard;
+
+// Proves wins by continuous fours (VCF) or by fours and open threes (VCT). The attacker
+// only plays threat moves and the defender only the replies that can meet a threat, so
+// a win it reports is forced; when no forcing line exists it gives up instead of widening.
+public class ThreatSpaceSearch {
+    public static final int NO_MOVE = TranspositionTable.NO_MOVE;
+    public static final int DEFAULT_VCF_DEPTH = 12;
+    public static final int DEFAULT_VCT_DEPTH = 5;
+    public static final int DEFAULT_NODE_LIMIT = 20000;
+
+    private static final int DIRECTIONS = 4;
+    private static final int CLOCK_INTERVAL = 255;
+
+    private final int vcfDepth;
+    private final int vctDepth;
+    private final int nodeLimit;
+
+    private GameBoard board;
+    private IncrementalEvaluator evaluator;
+    private int size;
+    private char attacker;
+    private char defender;
+    private int attackerColour;
+    private int defenderColour;
+    private boolean threes;
+    private int limit;
+    private long deadline = Long.MAX_VALUE;
+    private long nodes;
+    private int winningMove;
+    private int[][] buffers = new int[0][0];
+    private int[] marks = new int[0];
+    private int stamp;
+
+    public ThreatSpaceSearch() {
+        this(DEFAULT_VCF_DEPTH, DEFAULT_VCT_DEPTH, DEFAULT_NODE_LIMIT);
+    }
+
+    // Depths count attacker moves; the node limit bounds each call.
+    public ThreatSpaceSearch(int vcfDepth, int vctDepth, int nodeLimit) {
+        if (vcfDepth < 1 || vctDepth < 1) throw new IllegalArgumentException("Threat depths must be at least 1");
+        if (nodeLimit < 1) throw new IllegalArgumentException("Node limit must be at least 1: " + nodeLimit);
+        this.vcfDepth = vcfDepth;
+        this.vctDepth = vctDepth;
+        this.nodeLimit = nodeLimit;
+    }
+
+    public long getNodeCount() {
+        return nodes;
+    }
+
+    // Returns the first move of a forced win for attacker, trying fours alone before
+    // fours and threes, or NO_MOVE.
+    public int findWin(GameBoard board, char attacker, char defender) {
+        return findWin(board, attacker, defender, Long.MAX_VALUE);
+    }
+
+    // As findWin, giving up once the clock passes deadline.
+    public int findWin(GameBoard board, char attacker, char defender, long deadline) {
+        IncrementalEvaluator evaluator = new IncrementalEvaluator(board);
+        board.addListener(evaluator);
+        try {
+            return findWin(board, evaluator, attacker, defender, deadline);
+        } finally {
+            evaluator.detach();
+        }
+    }
+
+    // As findWin, with an evaluator already listening to board.
+    int findWin(GameBoard board, IncrementalEvaluator evaluator, char attacker, char defender, long deadline) {
+        this.deadline = deadline;
+        try {
+            int move = findVcf(board, evaluator, attacker, defender, vcfDepth, nodeLimit);
+            if (move == NO_MOVE) move = findVct(board, evaluator, attacker, defender, vctDepth, nodeLimit);
+            return move;
+        } finally {
+            this.deadline = Long.MAX_VALUE;
+        }
+    }
+
+    int findVcf(GameBoard board, IncrementalEvaluator evaluator, char attacker, char defender, int depth, int nodeLimit) {
+        return solve(board, evaluator, attacker, defender, false, depth, nodeLimit);
+    }
+
+    int findVct(GameBoard board, IncrementalEvaluator evaluator, char attacker, char defender, int depth, int nodeLimit) {
+        return solve(board, evaluator, attacker, defender, true, depth, nodeLimit);
+    }
+
+    private int solve(GameBoard board, IncrementalEvaluator evaluator, char attacker, char defender, boolean threes, int depth, int nodeLimit) {
+        this.board = board;
+        this.evaluator = evaluator;
+        this.size = board.getSize();
+        this.attacker = attacker;
+        this.defender = defender;
+        this.attackerColour = BitBoard.colourIndex(attacker);
+        this.defenderColour = BitBoard.colourIndex(defender);
+        this.threes = threes;
+        this.limit = nodeLimit;
+        this.nodes = 0;
+        this.winningMove = NO_MOVE;
+        if (buffers.length < 2 * depth + 2 || buffers[0].length != size * size) {
+            buffers = new int[2 * depth + 2][size * size];
+            marks = new int[size * size];
+        }
+        try {
+            return attack(depth, 0) ? winningMove : NO_MOVE;
+        } finally {
+            this.board = null;
+            this.evaluator = null;
+        }
+    }
+
+    // Attacker to move. A defender four has to be blocked first, and the block only
+    // keeps the initiative if it is itself a threat.
+    private boolean attack(int depth, int level) {
+        if (nodes++ >= limit) return false;
+        if ((nodes & CLOCK_INTERVAL) == 0 && System.currentTimeMillis() >= deadline) {
+            limit = 0;
+            return false;
+        }
+        if (!threes && !evaluator.canMakeFour(attacker)) return false;
+        int[] cells = buffers[level];
+
+        if (collect(attackerColour, 4, cells) > 0) {
+            if (level == 0) winningMove = cells[0];
+            return true;
+        }
+        int forced = collect(defenderColour, 4, cells);
+        if (forced > 1 || depth == 0) return false;
+
+        int count = forced == 1 ? 1 : collect(attackerColour, 3, cells);
+        for (int i = 0; i < count; i++) {
+            if (tryFour(cells[i], depth, level)) return true;
+        }
+        if (!threes) return false;
+        if (forced == 0) count = collect(attackerColour, 2, cells);
+        for (int i = 0; i < count; i++) {
+            if (tryThree(cells[i], depth, level)) return true;
+        }
+        return false;
+    }
+
+    private boolean tryFour(int cell, int depth, int level) {
+        int row = cell / size, col = cell % size;
+        int fives = 0;
+        int block = NO_MOVE;
+        for (int d = 0; d < DIRECTIONS; d++) {
+            int line = evaluator.lineThrough(d, row, col);
+            int bit = evaluator.bitOn(d, row, col);
+            long mask = fiveCells(evaluator.stones(attackerColour, line) | 1L << bit, evaluator.empties(line) & ~(1L << bit), bit);
+            if (mask != 0) {
+                fives += Long.bitCount(mask);
+                block = evaluator.cellAt(d, line, Long.numberOfTrailingZeros(mask));
+            }
+        }
+        if (fives == 0) return false;
+
+        // After a single four is blocked the attacker needs another threat, so the last
+        // ply of depth can only win through a double four.
+        boolean won = fives >= 2;
+        if (!won && depth > 1) {
+            board.placeSymbol(row, col, attacker);
+            board.placeSymbol(block / size, block % size, defender);
+            won = attack(depth - 1, level + 1);
+            board.setSymbolAt(block / size, block % size, GameBoard.EMPTY);
+            board.setSymbolAt(row, col, GameBoard.EMPTY);
+        }
+        if (won && level == 0) winningMove = cell;
+        return won;
+    }
+
+    // An open three threatens an open four next move. The defender may answer with any
+    // four of its own or with a cell on a threatened line that removes every open four.
+    private boolean tryThree(int cell, int depth, int level) {
+        // A four is only answered by its block, which tryFour has already searched.
+        if (makesFour(cell, attackerColour)) return false;
+        int row = cell / size, col = cell % size;
+        board.placeSymbol(row, col, attacker);
+        try {
+            int threatened = openFourDirections(row, col);
+            if (threatened == 0) return false;
+
+            int[] replies = buffers[level + 1];
+            int count = 0;
+            for (int d = 0; d < DIRECTIONS; d++) {
+                if ((threatened & 1 << d) == 0) continue;
+                int line = evaluator.lineThrough(d, row, col);
+                int bit = evaluator.bitOn(d, row, col);
+                // Open-four cells lie within four of the new stone and their fives within four of them.
+                long candidates = evaluator.empties(line) & window(bit - 8, bit + 8);
+                while (candidates != 0) {
+                    int reply = evaluator.cellAt(d, line, Long.numberOfTrailingZeros(candidates));
+                    candidates &= candidates - 1;
+                    if (!contains(replies, count, reply) && defends(reply, row, col, threatened)) replies[count++] = reply;
+                }
+            }
+            int lineReplies = count;
+            int[] fours = buffers[level + 2];
+            int fourCount = collect(defenderColour, 3, fours);
+            for (int i = 0; i < fourCount; i++) {
+                if (!contains(replies, lineReplies, fours[i])) replies[count++] = fours[i];
+            }
+
+            for (int i = 0; i < count; i++) {
+                int reply = replies[i];
+                board.placeSymbol(reply / size, reply % size, defender);
+                boolean won = attack(depth - 1, level + 2);
+                board.setSymbolAt(reply / size, reply % size, GameBoard.EMPTY);
+                if (!won) return false;
+            }
+        } finally {
+            board.setSymbolAt(row, col, GameBoard.EMPTY);
+        }
+        if (level == 0) winningMove = cell;
+        return true;
+    }
+
+    private boolean defends(int reply, int row, int col, int threatened) {
+        board.placeSymbol(reply / size, reply % size, defender);
+        boolean defended = (openFourDirections(row, col) & threatened) == 0;
+        board.setSymbolAt(reply / size, reply % size, GameBoard.EMPTY);
+        return defended;
+    }
+
+    // Directions through the attacker's stone at (row, col) in which one more attacker
+    // stone would leave two ways to complete five.
+    private int openFourDirections(int row, int col) {
+        int directions = 0;
+        for (int d = 0; d < DIRECTIONS; d++) {
+            int line = evaluator.lineThrough(d, row, col);
+            int bit = evaluator.bitOn(d, row, col);
+            long own = evaluator.stones(attackerColour, line);
+            long empty = evaluator.empties(line);
+            long candidates = empty & window(bit - 4, bit + 4);
+            while (candidates != 0) {
+                int next = Long.numberOfTrailingZeros(candidates);
+                candidates &= candidates - 1;
+                if (Long.bitCount(fiveCells(own | 1L << next, empty & ~(1L << next), next)) >= 2) {
+                    directions |= 1 << d;
+                    break;
+                }
+            }
+        }
+        return directions;
+    }
+
+    private boolean makesFour(int cell, int colour) {
+        int row = cell / size, col = cell % size;
+        for (int d = 0; d < DIRECTIONS; d++) {
+            int line = evaluator.lineThrough(d, row, col);
+            int bit = evaluator.bitOn(d, row, col);
+            if (fiveCells(evaluator.stones(colour, line) | 1L << bit, evaluator.empties(line) & ~(1L << bit), bit) != 0) return true;
+        }
+        return false;
+    }
+
+    // Empty cells of five-cell windows that hold at least minOwn stones of colour and
+    // no opposing stone, over every line and without duplicates.
+    private int collect(int colour, int minOwn, int[] cells) {
+        stamp++;
+        int count = 0;
+        for (int line = 0; line < evaluator.lineCount(); line++) {
+            long own = evaluator.stones(colour, line);
+            if (Long.bitCount(own) < minOwn) continue;
+            long empty = evaluator.empties(line);
+            long free = own | empty;
+            long starts = free & free >>> 1 & free >>> 2 & free >>> 3 & free >>> 4;
+            long found = 0;
+            while (starts != 0) {
+                int start = Long.numberOfTrailingZeros(starts);
+                starts &= starts - 1;
+                if (Long.bitCount(own >>> start & 0b11111) >= minOwn) found |= empty & 0b11111L << start;
+            }
+            int direction = evaluator.directionOf(line);
+            while (found != 0) {
+                int cell = evaluator.cellAt(direction, line, Long.numberOfTrailingZeros(found));
+                found &= found - 1;
+                if (marks[cell] != stamp) {
+                    marks[cell] = stamp;
+                    cells[count++] = cell;
+                }
+            }
+        }
+        return count;
+    }
+
+    // Empty cells completing five in a window that contains bit, as a mask on the line.
+    private static long fiveCells(long own, long empty, int bit) {
+        long cells = 0;
+        for (int start = Math.max(0, bit - 4); start <= Math.min(bit, 59); start++) {
+            long window = 0x1FL << start;
+            if (Long.bitCount(own & window) == 4 && ((own | empty) & window) == window) cells |= empty & window;
+        }
+        return cells;
+    }
+
+    private static long window(int from, int to) {
+        from = Math.max(0, from);
+        to = Math.min(63, to);
+        if (from > to) return 0;
+        return (-1L >>> (63 - to)) & (-1L << from);
+    }
+
+    private static boolean contains(int[] cells, int count, int cell) {
+        for (int i = 0; i < count; i++) {
+            if (cells[i] == cell) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.gomoku.ai;
+
+// Decides when iterative deepening stops. The time limit given to the search is a hard
+// deadline; an adaptive manager normally stops earlier, at a soft limit that is a share of it.
+// The share halves once the best move has stayed the same for a few iterations and grows to
+// the whole limit once the score drops, and the search stops as soon as only one move does
+// not lose. With a node budget the search stops at that many nodes of the calling thread and
+// the soft limit is counted in nodes too, so a single-threaded search does the same work on
+// any machine.
+public class TimeManager {
+    private static final int NO_CELL = TranspositionTable.NO_MOVE;
+    private static final double SOFT_SHARE = 0.4;
+    private static final int STABLE_ITERATIONS = 3;
+    private static final double STABLE_FACTOR = 0.5;
+    private static final int SCORE_DROP = 100;
+    private static final double DROP_FACTOR = 2.5;
+    private static final int SINGLE_REPLY_DEPTH = 2;
+
+    private final boolean adaptive;
+    private final long nodeBudget;
+    // Written by rearm from another thread while the search reads them.
+    private volatile long startMs;
+    private volatile long limit;
+    private volatile long deadlineMs = Long.MAX_VALUE;
+    private volatile boolean rearmed;
+    private volatile double share = SOFT_SHARE;
+    private volatile boolean iterated;
+    private int bestCell;
+    private int bestScore;
+    private int stableIterations;
+    private boolean extended;
+
+    public TimeManager() {
+        this(true, 0);
+    }
+
+    // A non-adaptive manager spends the whole time limit unless the depth limit comes first;
+    // a node budget of 0 means none.
+    public TimeManager(boolean adaptive, long nodeBudget) {
+        if (nodeBudget < 0) throw new IllegalArgumentException("Node budget must not be negative: " + nodeBudget);
+        this.adaptive = adaptive;
+        this.nodeBudget = nodeBudget;
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    public long getNodeBudget() {
+        return nodeBudget;
+    }
+
+    // A manager rearmed before its search started keeps the rearmed clock.
+    void start(long timeLimitMs) {
+        if (!rearmed) {
+            startMs = System.currentTimeMillis();
+            limit = nodeBudget > 0 ? nodeBudget : timeLimitMs;
+        }
+        bestCell = NO_CELL;
+        bestScore = 0;
+        stableIterations = 0;
+        extended = false;
+        share = SOFT_SHARE;
+        iterated = false;
+    }
+
+    // Restarts the clock of the running search from now with timeLimitMs, which also becomes
+    // its hard deadline. Used on a ponder hit, where the search began on the human's time: a
+    // search that has already run past the soft limit it would have had stops at once with
+    // its last completed iteration.
+    public synchronized void rearm(long timeLimitMs) {
+        long now = System.currentTimeMillis();
+        boolean spent = adaptive && nodeBudget == 0 && iterated && now - startMs >= timeLimitMs * share;
+        if (nodeBudget == 0) limit = timeLimitMs;
+        startMs = now;
+        deadlineMs = spent ? now : now + timeLimitMs;
+        rearmed = true;
+    }
+
+    // Moves the clock on by ms the search spent on something other than the move.
+    synchronized void pause(long ms) {
+        startMs += ms;
+        if (deadlineMs != Long.MAX_VALUE) deadlineMs += ms;
+    }
+
+    long deadlineMs() {
+        return deadlineMs;
+    }
+
+    long nodeLimit() {
+        return nodeBudget > 0 ? nodeBudget : Long.MAX_VALUE;
+    }
+
+    // Called after each completed iteration with its best move and score and the number of
+    // root moves that do not lose (-1 when not all were searched). Returns why no further
+    // iteration should start, or null to go on.
+    SearchStats.StopReason afterIteration(int depth, int cell, int score, int nonLosingMoves, long nodes) {
+        if (!adaptive) return null;
+        if (depth >= SINGLE_REPLY_DEPTH && nonLosingMoves == 1) return SearchStats.StopReason.SINGLE_REPLY;
+
+        if (depth > 1 && score < bestScore - SCORE_DROP) extended = true;
+        stableIterations = cell == bestCell ? stableIterations + 1 : 0;
+        bestCell = cell;
+        bestScore = score;
+
+        double share = SOFT_SHARE;
+        if (extended) share *= DROP_FACTOR;
+        else if (stableIterations >= STABLE_ITERATIONS) share *= STABLE_FACTOR;
+        this.share = share;
+        iterated = true;
+        long used = nodeBudget > 0 ? nodes : System.currentTimeMillis() - startMs;
+        return used >= limit * share ? SearchStats.StopReason.SOFT_LIMIT : null;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.gomoku.ai;
+
+import java.util.Arrays;
+
+// Lockless table: each slot stores key ^ data next to data, so a slot torn by a
+// concurrent writer fails verification and reads as a miss instead of a wrong entry.
+// Probes and hits are counted by each searching thread, not here, so the shared table
+// has no counters for the threads to race on.
+public class TranspositionTable {
+    public static final int DEFAULT_SIZE_BITS = 18;
+
+    public static final byte EXACT = 0;
+    public static final byte LOWER_BOUND = 1;
+    public static final byte UPPER_BOUND = 2;
+
+    public static final int NO_MOVE = -1;
+    public static final long MISS = 0L;
+
+    // data layout: score 0-31, move + 1 32-47, depth 48-55, flag 56-57, valid 58, generation 59-63
+    private static final int MOVE_SHIFT = 32;
+    private static final int DEPTH_SHIFT = 48;
+    private static final int FLAG_SHIFT = 56;
+    private static final long VALID = 1L << 58;
+    private static final int GENERATION_SHIFT = 59;
+    private static final int GENERATION_MASK = 0x1F;
+
+    private final int mask;
+    private final long[] keys;
+    private final long[] data;
+    private volatile int generation;
+
+    private int boardSize;
+
+    public TranspositionTable() {
+        this(DEFAULT_SIZE_BITS);
+    }
+
+    public TranspositionTable(int sizeBits) {
+        if (sizeBits < 1 || sizeBits > 28) {
+            throw new IllegalArgumentException("Table size must be between 2^1 and 2^28 entries: 2^" + sizeBits);
+        }
+        int capacity = 1 << sizeBits;
+        this.mask = capacity - 1;
+        this.keys = new long[capacity];
+        this.data = new long[capacity];
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(data, 0L);
+    }
+
+    // Moves are stored as cell indices, so the table is cleared when the board size changes.
+    public synchronized void prepare(int boardSize) {
+        if (this.boardSize != boardSize) {
+            clear();
+            this.boardSize = boardSize;
+        }
+    }
+
+    public void newSearch() {
+        generation = (generation + 1) & GENERATION_MASK;
+    }
+
+    // Entries live in two-way buckets; returns the packed entry for key, or MISS.
+    public long probe(long key) {
+        int slot = (int) key & mask & ~1;
+        long entry = data[slot];
+        if ((keys[slot] ^ entry) == key && entry != 0) return entry;
+        entry = data[slot + 1];
+        if ((keys[slot + 1] ^ entry) == key && entry != 0) return entry;
+        return MISS;
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    public static byte flag(long entry) {
+        return (byte) ((entry >>> FLAG_SHIFT) & 0x3);
+    }
+
+    public static int score(long entry) {
+        return (int) entry;
+    }
+
+    public static int move(long entry) {
+        return (int) ((entry >>> MOVE_SHIFT) & 0xFFFF) - 1;
+    }
+
+    private static int generation(long entry) {
+        return (int) (entry >>> GENERATION_SHIFT) & GENERATION_MASK;
+    }
+
+    // Same key is always refreshed; otherwise the entry from an older search,
+    // then the shallower entry of the bucket, is replaced.
+    public void store(long key, int depth, byte flag, int score, int move) {
+        int first = (int) key & mask & ~1;
+        int current = generation;
+        long a = data[first];
+        long b = data[first + 1];
+        boolean aMatches = (keys[first] ^ a) == key && a != 0;
+        boolean bMatches = (keys[first + 1] ^ b) == key && b != 0;
+
+        int slot;
+        long existing;
+        if (aMatches || a == 0) {
+            slot = first;
+            existing = aMatches ? a : 0;
+        } else if (bMatches || b == 0) {
+            slot = first + 1;
+            existing = bMatches ? b : 0;
+        } else {
+            boolean aStale = generation(a) != current;
+            boolean bStale = generation(b) != current;
+            if (aStale != bStale) slot = aStale ? first : first + 1;
+            else slot = depth(b) < depth(a) ? first + 1 : first;
+            existing = 0;
+        }
+
+        if (existing != 0) {
+            if (depth(existing) > depth && generation(existing) == current && flag != EXACT) return;
+            if (move == NO_MOVE) move = move(existing);
+        }
+
+        long entry = (score & 0xFFFFFFFFL)
+            | (long) ((move + 1) & 0xFFFF) << MOVE_SHIFT
+            | (long) Math.min(depth, 0xFF) << DEPTH_SHIFT
+            | (long) (flag & 0x3) << FLAG_SHIFT
+            | VALID
+            | (long) current << GENERATION_SHIFT;
+        data[slot] = entry;
+        keys[slot] = key ^ entry;
+    }
+
+    public double getFillRate() {
+        int sample = Math.min(keys.length, 1 << 12);
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            if (data[i] != 0) used++;
+        }
+        return (double) used / sample;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TranspositionTable[entries=%d, fill=%.1f%%]", keys.length, getFillRate() * 100);
+    }
+}
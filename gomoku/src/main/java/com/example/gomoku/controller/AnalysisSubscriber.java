@@ -0,0 +1,51 @@
+package com.example.gomoku.controller;
+
+import javafx.application.Platform;
+
+import com.example.gomoku.ai.Analysis;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+// Hands search analyses to the FX thread. At most one hand-over is queued at a time and it
+// takes the newest analysis, so a fast search cannot flood the FX thread. Package-private,
+// as the ai package is not exported.
+class AnalysisSubscriber implements Flow.Subscriber<Analysis> {
+    private final Consumer<Analysis> view;
+    private final Runnable failed;
+    private final AtomicReference<Analysis> latest = new AtomicReference<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    // failed runs on the FX thread once the publisher fails, after which nothing is shown.
+    AnalysisSubscriber(Consumer<Analysis> view, Runnable failed) {
+        this.view = view;
+        this.failed = failed;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(Analysis analysis) {
+        latest.set(analysis);
+        if (scheduled.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                scheduled.set(false);
+                view.accept(latest.get());
+            });
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Platform.runLater(failed);
+    }
+
+    @Override
+    public void onComplete() {
+    }
+}
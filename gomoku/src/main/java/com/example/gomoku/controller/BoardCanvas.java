@@ -0,0 +1,216 @@
+package com.example.gomoku.controller;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.geometry.VPos;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+import com.example.gomoku.ai.Analysis;
+import com.example.gomoku.ai.PackedMove;
+import com.example.gomoku.model.GameBoard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+// The board drawn on one canvas. A click maps to its cell by division, and a move redraws
+// only its own cell, so the cost of a move does not grow with the board. Stones grow in over
+// ANIMATION_NANOS on a single timer that runs only while a stone is still growing. An
+// analysis is shown as a heatmap of its candidate moves, numbered best first. Rows and
+// columns are lettered from A in a band of AXIS_PIXELS left of and below the board, drawn
+// on the same canvas so that the letters line up with the cells at any size.
+public class BoardCanvas extends Canvas {
+    private static final long ANIMATION_NANOS = 200_000_000L;
+    private static final double BORDER_WIDTH = 0.5;
+    private static final Color HEAT = Color.rgb(214, 69, 40);
+    private static final double AXIS_PIXELS = 24;
+    private static final Color AXIS_TEXT = Color.web("#5b4a3f");
+
+    public interface CellHandler {
+        void cellClicked(int row, int col);
+    }
+
+    private final int size;
+    private final double cellSize;
+    private final double stoneRadius;
+    private final char[] stones;
+    // Rank of each cell in the shown analysis, 0 when it is not a candidate.
+    private final int[] heatRanks;
+    private int[] heatCells = new int[0];
+    private int heatLines;
+    private final List<Growing> growing = new ArrayList<>();
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            animate(now);
+        }
+    };
+    private CellHandler cellHandler;
+
+    public BoardCanvas(int size, double cellSize) {
+        super(AXIS_PIXELS + size * cellSize, size * cellSize + AXIS_PIXELS);
+        this.size = size;
+        this.cellSize = cellSize;
+        this.stoneRadius = cellSize * 0.4;
+        this.stones = new char[size * size];
+        this.heatRanks = new int[size * size];
+        setOnMouseClicked(e -> {
+            int row = (int) Math.floor(e.getY() / cellSize);
+            int col = (int) Math.floor((e.getX() - AXIS_PIXELS) / cellSize);
+            if (cellHandler != null && row >= 0 && col >= 0 && row < size && col < size) {
+                cellHandler.cellClicked(row, col);
+            }
+        });
+        clear();
+    }
+
+    public void setCellHandler(CellHandler cellHandler) {
+        this.cellHandler = cellHandler;
+    }
+
+    public void placeStone(int row, int col, char symbol) {
+        stones[row * size + col] = symbol;
+        growing.add(new Growing(row, col, System.nanoTime()));
+        drawCell(row, col, 0.0);
+        timer.start();
+    }
+
+    // Redraws only the cells of the previous and the new analysis.
+    void showAnalysis(Analysis analysis) {
+        int[] previous = heatCells;
+        clearHeat();
+        heatLines = analysis.getLineCount();
+        heatCells = new int[heatLines];
+        for (int line = 0; line < heatLines; line++) {
+            int move = analysis.getMove(line);
+            int cell = PackedMove.row(move) * size + PackedMove.col(move);
+            heatCells[line] = cell;
+            heatRanks[cell] = line + 1;
+        }
+        redrawCells(previous);
+        redrawCells(heatCells);
+    }
+
+    public void clearAnalysis() {
+        int[] previous = heatCells;
+        clearHeat();
+        redrawCells(previous);
+    }
+
+    public void clear() {
+        timer.stop();
+        growing.clear();
+        clearHeat();
+        Arrays.fill(stones, GameBoard.EMPTY);
+        GraphicsContext g = getGraphicsContext2D();
+        g.clearRect(0, 0, getWidth(), getHeight());
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                drawCell(row, col, 1.0);
+            }
+        }
+        drawAxes();
+    }
+
+    private void drawAxes() {
+        GraphicsContext g = getGraphicsContext2D();
+        g.setFill(AXIS_TEXT);
+        g.setFont(Font.font(null, FontWeight.SEMI_BOLD, Math.min(12, cellSize * 0.5)));
+        g.setTextAlign(TextAlignment.CENTER);
+        g.setTextBaseline(VPos.CENTER);
+        for (int i = 0; i < size; i++) {
+            String letter = String.valueOf((char) ('A' + i));
+            g.fillText(letter, AXIS_PIXELS / 2, i * cellSize + cellSize / 2);
+            g.fillText(letter, AXIS_PIXELS + i * cellSize + cellSize / 2, size * cellSize + AXIS_PIXELS / 2);
+        }
+    }
+
+    private void clearHeat() {
+        for (int cell : heatCells) {
+            heatRanks[cell] = 0;
+        }
+        heatCells = new int[0];
+        heatLines = 0;
+    }
+
+    private void redrawCells(int[] cells) {
+        for (int cell : cells) {
+            boolean animating = false;
+            for (Growing stone : growing) {
+                animating |= stone.row * size + stone.col == cell;
+            }
+            if (!animating) drawCell(cell / size, cell % size, 1.0);
+        }
+    }
+
+    private void animate(long now) {
+        Iterator<Growing> it = growing.iterator();
+        while (it.hasNext()) {
+            Growing stone = it.next();
+            double progress = Math.min(1.0, Math.max(0.0, (now - stone.startNanos) / (double) ANIMATION_NANOS));
+            drawCell(stone.row, stone.col, progress);
+            if (progress >= 1.0) it.remove();
+        }
+        if (growing.isEmpty()) timer.stop();
+    }
+
+    // Redraws one cell: its border and its stone scaled and faded in by progress.
+    private void drawCell(int row, int col, double progress) {
+        GraphicsContext g = getGraphicsContext2D();
+        double x = AXIS_PIXELS + col * cellSize;
+        double y = row * cellSize;
+        g.clearRect(x, y, cellSize, cellSize);
+        g.setGlobalAlpha(1.0);
+        g.setStroke(Color.LIGHTGRAY);
+        g.setLineWidth(BORDER_WIDTH);
+        g.strokeRect(x + BORDER_WIDTH / 2, y + BORDER_WIDTH / 2, cellSize - BORDER_WIDTH, cellSize - BORDER_WIDTH);
+
+        char symbol = stones[row * size + col];
+        int rank = heatRanks[row * size + col];
+        if (symbol == GameBoard.EMPTY && rank > 0) drawHeat(x, y, rank);
+        if (symbol == GameBoard.EMPTY || progress <= 0.0) return;
+        double radius = stoneRadius * progress;
+        double cx = x + cellSize / 2;
+        double cy = y + cellSize / 2;
+        g.setGlobalAlpha(progress);
+        g.setFill(symbol == GameBoard.BLACK ? Color.BLACK : Color.WHITE);
+        g.fillOval(cx - radius, cy - radius, radius * 2, radius * 2);
+        if (symbol == GameBoard.WHITE) {
+            g.setStroke(Color.BLACK);
+            g.setLineWidth(1);
+            g.strokeOval(cx - radius, cy - radius, radius * 2, radius * 2);
+        }
+        g.setGlobalAlpha(1.0);
+    }
+
+    // The best candidate is the most opaque.
+    private void drawHeat(double x, double y, int rank) {
+        GraphicsContext g = getGraphicsContext2D();
+        g.setGlobalAlpha(0.2 + 0.5 * (heatLines - rank + 1) / heatLines);
+        g.setFill(HEAT);
+        g.fillRect(x + 1, y + 1, cellSize - 2, cellSize - 2);
+        g.setGlobalAlpha(1.0);
+        g.setFill(Color.WHITE);
+        g.setFont(Font.font(cellSize * 0.4));
+        g.setTextAlign(TextAlignment.CENTER);
+        g.setTextBaseline(VPos.CENTER);
+        g.fillText(Integer.toString(rank), x + cellSize / 2, y + cellSize / 2);
+    }
+
+    private static class Growing {
+        final int row;
+        final int col;
+        final long startNanos;
+
+        Growing(int row, int col, long startNanos) {
+            this.row = row;
+            this.col = col;
+            this.startNanos = startNanos;
+        }
+    }
+}
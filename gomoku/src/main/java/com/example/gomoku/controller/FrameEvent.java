@@ -0,0 +1,26 @@
+package com.example.gomoku.controller;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.gomoku.Frames")
+@Label("Frame Times")
+@Category({"Gomoku", "UI"})
+@Description("JavaFX pulses over one second of the game view")
+@StackTrace(false)
+class FrameEvent extends jdk.jfr.Event {
+    @Label("Frames")
+    int frames;
+
+    @Label("Mean Frame Time (ms)")
+    double meanMs;
+
+    @Label("Worst Frame Time (ms)")
+    double worstMs;
+
+    @Label("Slow Frames")
+    int slowFrames;
+}
@@ -0,0 +1,73 @@
+package com.example.gomoku.controller;
+
+import javafx.animation.AnimationTimer;
+
+import jdk.jfr.FlightRecorder;
+
+// Measures the time between JavaFX pulses, which grows whenever the FX thread is blocked.
+// Once a second it emits a FrameEvent to Flight Recorder.
+public class FrameTimeMonitor extends AnimationTimer {
+    private static final long REPORT_NANOS = 1_000_000_000L;
+    // Two frames at 60 Hz.
+    private static final long SLOW_FRAME_NANOS = 33_000_000L;
+
+    private long lastFrame;
+    private long windowStart;
+    private int frames;
+    private int slowFrames;
+    private long worstNanos;
+    private volatile double lastMeanMs;
+    private volatile double lastWorstMs;
+
+    @Override
+    public void handle(long now) {
+        // The first pulse after a start opens a fresh window, so frames from before a stop are
+        // not averaged over the pause.
+        if (lastFrame == 0) {
+            lastFrame = now;
+            startWindow(now);
+            return;
+        }
+        long frame = now - lastFrame;
+        lastFrame = now;
+        frames++;
+        worstNanos = Math.max(worstNanos, frame);
+        if (frame > SLOW_FRAME_NANOS) slowFrames++;
+        if (now - windowStart >= REPORT_NANOS) report(now);
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        lastFrame = 0;
+    }
+
+    public double getMeanMs() {
+        return lastMeanMs;
+    }
+
+    public double getWorstMs() {
+        return lastWorstMs;
+    }
+
+    private void report(long now) {
+        lastMeanMs = (now - windowStart) / 1e6 / frames;
+        lastWorstMs = worstNanos / 1e6;
+        if (FlightRecorder.isInitialized()) {
+            FrameEvent event = new FrameEvent();
+            event.frames = frames;
+            event.meanMs = lastMeanMs;
+            event.worstMs = lastWorstMs;
+            event.slowFrames = slowFrames;
+            event.commit();
+        }
+        startWindow(now);
+    }
+
+    private void startWindow(long now) {
+        windowStart = now;
+        frames = 0;
+        slowFrames = 0;
+        worstNanos = 0;
+    }
+}
@@ -1,33 +1,39 @@
 package com.example.gomoku.controller;
 
-import javafx.animation.FadeTransition;
-import javafx.animation.ScaleTransition;
 import javafx.application.Platform;
-import javafx.concurrent.Task;
+import javafx.event.EventHandler;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.Cursor;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Circle;
-import javafx.util.Duration;
+import javafx.stage.WindowEvent;
 
 import com.example.gomoku.ai.*;
 import com.example.gomoku.game.*;
 import com.example.gomoku.model.*;
 
+import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ResourceBundle;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SubmissionPublisher;
 
 public class GameController implements Initializable {
+    // Cells shrink on larger boards so the board keeps about the 10x10 size on screen.
+    private static final int BOARD_PIXELS = 500;
+    private static final int MIN_CELL_PIXELS = 24;
+
     @FXML
-    private GridPane boardGrid;
+    private StackPane boardPane;
 
     @FXML
     private Label turnLabel;
@@ -55,59 +61,112 @@ public class GameController implements Initializable {
 
     private Board board;
     private AIPlayer aiPlayer;
+    private EngineService engine;
     private EvaluationFunction evaluationFunction;
+    private IncrementalEvaluator scores;
+    private MinimaxSearch minimaxSearch;
+    private int analysisLines;
+    private ExecutorService analysisExecutor;
+    private SubmissionPublisher<Analysis> analysis;
+    private final FrameTimeMonitor frameTimes = new FrameTimeMonitor();
+    private final EventHandler<WindowEvent> windowHidden = event -> closeView();
     private final String gameMode = "PVAI";
     private boolean blackTurn = true;
     private boolean gameOver = false;
-    private final AtomicBoolean abortFlag = new AtomicBoolean(false);
     private int previousBlackScore = 0;
     private int previousWhiteScore = 0;
+    private BoardCanvas boardCanvas;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        board = new Board(10);
         evaluationFunction = new EvaluationFunction();
+    }
+
+    // Called once after the view is loaded, with the board size picked on the home screen.
+    public void startGame(int size) {
+        board = new Board(size);
         MoveGenerator moveGenerator = new MoveGenerator(2);
-        MinimaxSearch minimaxSearch = new MinimaxSearch(evaluationFunction, moveGenerator);
-        aiPlayer = new AIPlayer(Board.WHITE, Board.BLACK, 5, 3000, minimaxSearch);
+        int threads = Runtime.getRuntime().availableProcessors();
+        minimaxSearch = new MinimaxSearch(evaluationFunction, moveGenerator, new TranspositionTable(), threads);
+        // The AI's best moves so far are shown while it thinks; -Dgomoku.analysis=0 turns it off.
+        analysisLines = Integer.getInteger("gomoku.analysis", 3);
+        openAnalysis();
+        aiPlayer = new AIPlayer(Board.WHITE, Board.BLACK, 5, 3000, minimaxSearch, loadOpeningBook());
+        aiPlayer.setPondering(Boolean.parseBoolean(System.getProperty("gomoku.ponder", "true")));
+        engine = new EngineService(aiPlayer, board.getSize());
+        // Follows the board move by move, so the scoreboard never rescans it.
+        scores = evaluationFunction.track(board);
+
+        int cellSize = Math.max(MIN_CELL_PIXELS, BOARD_PIXELS / size);
+        boardCanvas = new BoardCanvas(size, cellSize);
+        boardCanvas.setCellHandler(this::handleCellClick);
+        boardPane.getChildren().add(boardCanvas);
 
-        for (int row = 0; row < board.getSize(); row++) {
-            for (int col = 0; col < board.getSize(); col++) {
-                StackPane cell = new StackPane();
-                cell.setPrefSize(50, 50);
-                cell.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
-                cell.setStyle("-fx-background-color: transparent; -fx-border-width: 0.5; -fx-border-color: lightgray;");
+        updateTurnLabel();
+        updateScoreboard();
+        // Frames are only timed while a game is on, and the view is closed when its window
+        // closes or shows another scene.
+        frameTimes.start();
+        boardPane.getScene().windowProperty().addListener((observable, previous, window) -> {
+            if (previous != null) {
+                previous.removeEventHandler(WindowEvent.WINDOW_HIDDEN, windowHidden);
+                closeView();
+            }
+            if (window != null) window.addEventHandler(WindowEvent.WINDOW_HIDDEN, windowHidden);
+        });
+    }
 
-                final int r = row, c = col;
-                cell.setOnMouseClicked(e -> handleCellClick(r, c, cell));
+    // Stops the frame monitor and the AI's threads once the view is gone.
+    private void closeView() {
+        frameTimes.stop();
+        engine.shutdown();
+        closeAnalysis();
+    }
 
-                boardGrid.add(cell, col, row);
-            }
-        }
+    // Each game publishes analysis on a thread of its own. Only called while no search runs,
+    // as a search offers to the publisher it was given.
+    private void openAnalysis() {
+        if (analysisLines <= 0) return;
+        analysisExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread t = new Thread(runnable, "AI-Analysis");
+            t.setDaemon(true);
+            return t;
+        });
+        analysis = new SubmissionPublisher<>(analysisExecutor, 1);
+        analysis.subscribe(new AnalysisSubscriber(this::showAnalysis, () -> boardCanvas.clearAnalysis()));
+        minimaxSearch.setAnalysis(analysisLines, analysis);
+    }
 
-        updateTurnLabel();
-        updateScoreboard();
+    private void closeAnalysis() {
+        if (analysis == null) return;
+        analysis.close();
+        analysisExecutor.shutdown();
+        analysis = null;
+        analysisExecutor = null;
     }
 
-    private void handleCellClick(int row, int col, StackPane cell) {
+    private void handleCellClick(int row, int col) {
         if (gameOver || !board.isValidMove(row, col)) return;
 
         char currentPlayer = blackTurn ? Board.BLACK : Board.WHITE;
         if (!board.placeSymbol(row, col, currentPlayer)) return;
+        engine.play(row, col, currentPlayer);
 
-        placeStoneWithAnimation(cell, blackTurn);
+        boardCanvas.placeStone(row, col, currentPlayer);
 
         // Update scoreboard after placing a stone
         updateScoreboard();
 
         if (WinChecker.checkWin(board, row, col, currentPlayer)) {
             gameOver = true;
+            engine.stopPondering();
             showWinDialog(blackTurn ? "Black" : "White");
             return;
         }
 
         if (board.isFull()) {
             gameOver = true;
+            engine.stopPondering();
             showDrawDialog();
             return;
         }
@@ -120,56 +179,24 @@ public class GameController implements Initializable {
         }
     }
 
-    private void placeStoneWithAnimation(StackPane cell, boolean isBlack) {
-        Circle stone = new Circle(20);
-        stone.setFill(isBlack ? Color.BLACK : Color.WHITE);
-        if (!isBlack) {
-            stone.setStroke(Color.BLACK);
-            stone.setStrokeWidth(1);
-        }
-
-        stone.setScaleX(0);
-        stone.setScaleY(0);
-        stone.setOpacity(0);
-        cell.getChildren().add(stone);
-
-        ScaleTransition scaleTransition = new ScaleTransition(Duration.millis(200), stone);
-        scaleTransition.setToX(1.0);
-        scaleTransition.setToY(1.0);
-
-        FadeTransition fadeTransition = new FadeTransition(Duration.millis(200), stone);
-        fadeTransition.setToValue(1.0);
-
-        scaleTransition.play();
-        fadeTransition.play();
-    }
-
     private void startAIMove() {
-        boardGrid.setDisable(true);
-        boardGrid.setCursor(Cursor.WAIT);
-
-        abortFlag.set(false);
-        Task<GomokuMove> aiTask = new Task<>() {
-            @Override
-            protected GomokuMove call() {
-                return aiPlayer.getBestMove(board, abortFlag);
-            }
-        };
-
-        aiTask.setOnSucceeded(event -> {
-            aiMoveWithAnimation(aiTask.getValue());
-            boardGrid.setDisable(false);
-            boardGrid.setCursor(Cursor.DEFAULT);
-        });
-
-        aiTask.setOnFailed(event -> {
-            boardGrid.setDisable(false);
-            boardGrid.setCursor(Cursor.DEFAULT);
-        });
+        boardCanvas.setDisable(true);
+        boardCanvas.setCursor(Cursor.WAIT);
+
+        engine.think().whenComplete((move, error) -> Platform.runLater(() -> {
+            boardCanvas.clearAnalysis();
+            if (error != null) showAIError(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            else aiMoveWithAnimation(move);
+            boardCanvas.setDisable(false);
+            boardCanvas.setCursor(Cursor.DEFAULT);
+        }));
+    }
 
-        Thread t = new Thread(aiTask, "AI-Thread");
-        t.setDaemon(true);
-        t.start();
+    // Pondering searches publish too, so only analyses of the AI's own turn are shown.
+    private void showAnalysis(Analysis update) {
+        if (gameOver || blackTurn || update.getPlayer() != Board.WHITE) return;
+        boardCanvas.showAnalysis(update);
+        turnLabel.setText("AI's Turn (depth " + update.getDepth() + ")");
     }
 
     private void aiMoveWithAnimation(GomokuMove bestMove) {
@@ -179,11 +206,9 @@ public class GameController implements Initializable {
         int col = bestMove.getCol();
 
         if (!board.placeSymbol(row, col, Board.WHITE)) return;
+        engine.play(row, col, Board.WHITE);
 
-        StackPane cell = getNodeFromGridPane(row, col);
-        if (cell != null) {
-            placeStoneWithAnimation(cell, false);
-        }
+        boardCanvas.placeStone(row, col, Board.WHITE);
 
         // Update scoreboard after AI move
         updateScoreboard();
@@ -202,19 +227,24 @@ public class GameController implements Initializable {
 
         blackTurn = true;
         updateTurnLabel();
+        // Search on the human's time; the next think picks up the result.
+        engine.startPondering();
     }
 
-    private StackPane getNodeFromGridPane(int row, int col) {
-        for (javafx.scene.Node node : boardGrid.getChildren()) {
-            if (node instanceof StackPane) {
-                Integer r = GridPane.getRowIndex(node);
-                Integer c = GridPane.getColumnIndex(node);
-                if ((r == null ? 0 : r) == row && (c == null ? 0 : c) == col) {
-                    return (StackPane) node;
-                }
-            }
+    // The book is optional: without the file the AI searches from the first move.
+    private OpeningBook loadOpeningBook() {
+        Path path = Paths.get(System.getProperty("gomoku.book", "opening-book.bin"));
+        if (!Files.isReadable(path)) return null;
+        try {
+            return OpeningBook.open(path);
+        } catch (IOException e) {
+            Alert alert = new Alert(Alert.AlertType.WARNING);
+            alert.setTitle("Opening Book");
+            alert.setHeaderText("The opening book could not be read");
+            alert.setContentText(path + ": " + e.getMessage() + "\nThe AI will search from the first move.");
+            alert.show();
+            return null;
         }
-        return null;
     }
 
     private void updateTurnLabel() {
@@ -226,7 +256,8 @@ public class GameController implements Initializable {
         updateTurnLabel();
         gameOverButtons.setVisible(true);
         gameOverButtons.setManaged(true);
-        boardGrid.setDisable(true);
+        boardCanvas.setDisable(true);
+        frameTimes.stop();
         
         Platform.runLater(() -> {
             Alert alert = new Alert(Alert.AlertType.INFORMATION);
@@ -241,7 +272,8 @@ public class GameController implements Initializable {
         updateTurnLabel();
         gameOverButtons.setVisible(true);
         gameOverButtons.setManaged(true);
-        boardGrid.setDisable(true);
+        boardCanvas.setDisable(true);
+        frameTimes.stop();
         
         Platform.runLater(() -> {
             Alert alert = new Alert(Alert.AlertType.INFORMATION);
@@ -252,24 +284,44 @@ public class GameController implements Initializable {
         });
     }
 
+    // The game cannot go on without the AI's move, so it ends as if it had been won.
+    private void showAIError(Throwable error) {
+        gameOver = true;
+        engine.stopPondering();
+        updateTurnLabel();
+        gameOverButtons.setVisible(true);
+        gameOverButtons.setManaged(true);
+        boardCanvas.setDisable(true);
+        frameTimes.stop();
+
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Game Over");
+        alert.setHeaderText("The AI failed to find a move");
+        alert.setContentText(String.valueOf(error.getMessage() != null ? error.getMessage() : error));
+        alert.show();
+    }
+
     private void resetGame() {
+        engine.stop();
+        // The reset runs once the stopped think is over, so the old publisher can be closed.
+        engine.reset().thenRun(() -> {
+            closeAnalysis();
+            openAnalysis();
+        });
         board.clear();
         gameOver = false;
         blackTurn = true;
         previousBlackScore = 0;
         previousWhiteScore = 0;
 
-        for (javafx.scene.Node node : boardGrid.getChildren()) {
-            if (node instanceof StackPane) {
-                ((StackPane) node).getChildren().clear();
-            }
-        }
+        boardCanvas.clear();
 
         gameOverButtons.setVisible(false);
         gameOverButtons.setManaged(false);
-        boardGrid.setDisable(false);
+        boardCanvas.setDisable(false);
         updateTurnLabel();
         updateScoreboard();
+        frameTimes.start();
     }
 
     @FXML
@@ -284,9 +336,8 @@ public class GameController implements Initializable {
     }
 
     private void updateScoreboard() {
-        // Calculate scores using the evaluation function
-        int blackScore = evaluationFunction.evaluatePlayer(board, Board.BLACK);
-        int whiteScore = evaluationFunction.evaluatePlayer(board, Board.WHITE);
+        int blackScore = scores.evaluatePlayer(Board.BLACK);
+        int whiteScore = scores.evaluatePlayer(Board.WHITE);
 
         // Calculate score changes
         int blackChange = blackScore - previousBlackScore;
@@ -5,9 +5,11 @@ import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.ChoiceBox;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.stage.Stage;
+import javafx.util.StringConverter;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -15,9 +17,14 @@ import java.net.URL;
 import java.util.ResourceBundle;
 
 public class HomeController implements Initializable {
+    private static final Integer[] BOARD_SIZES = {10, 15, 19};
+
     @FXML
     private ImageView backgroundView;
 
+    @FXML
+    private ChoiceBox<Integer> sizeChoice;
+
     @FXML
     private Button playButton;
 
@@ -27,6 +34,20 @@ public class HomeController implements Initializable {
         if (imageStream != null) {
             backgroundView.setImage(new Image(imageStream));
         }
+
+        sizeChoice.getItems().addAll(BOARD_SIZES);
+        sizeChoice.setValue(Integer.getInteger("gomoku.size", BOARD_SIZES[0]));
+        sizeChoice.setConverter(new StringConverter<Integer>() {
+            @Override
+            public String toString(Integer size) {
+                return size == null ? "" : size + " x " + size;
+            }
+
+            @Override
+            public Integer fromString(String text) {
+                return Integer.valueOf(text.substring(0, text.indexOf(' ')));
+            }
+        });
     }
 
     @FXML
@@ -34,6 +55,8 @@ public class HomeController implements Initializable {
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/com/example/gomoku/game-view.fxml"));
             Scene gameScene = new Scene(fxmlLoader.load(), 620, 675);
+            GameController gameController = fxmlLoader.getController();
+            gameController.startGame(sizeChoice.getValue());
             Stage stage = (Stage) playButton.getScene().getWindow();
             stage.setScene(gameScene);
             stage.setTitle("Gomoku Game");
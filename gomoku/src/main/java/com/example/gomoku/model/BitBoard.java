@@ -0,0 +1,270 @@
+package com.example.gomoku.model;
+
+import java.util.Arrays;
+
+public class BitBoard implements GameBoard {
+    public static final int MAX_SIZE = 64;
+
+    private static final char[] SYMBOLS = {BLACK, WHITE};
+
+    private final int size;
+    private final long lineMask;
+    private final long[] diagonalMasks;
+    private final long[] antiDiagonalMasks;
+
+    // Indexed by colour: rows are keyed by column bit, every other line by row bit.
+    private final long[][] rows;
+    private final long[][] columns;
+    private final long[][] diagonals;
+    private final long[][] antiDiagonals;
+    private final int[] counts;
+    private long hash;
+    private BoardListener[] listeners = new BoardListener[0];
+
+    public BitBoard(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Board size must be between 1 and " + MAX_SIZE + ": " + size);
+        }
+        this.size = size;
+        this.lineMask = size == 64 ? -1L : (1L << size) - 1;
+        this.diagonalMasks = new long[2 * size - 1];
+        this.antiDiagonalMasks = new long[2 * size - 1];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                diagonalMasks[diagonalIndex(r, c)] |= 1L << r;
+                antiDiagonalMasks[antiDiagonalIndex(r, c)] |= 1L << r;
+            }
+        }
+        this.rows = new long[2][size];
+        this.columns = new long[2][size];
+        this.diagonals = new long[2][2 * size - 1];
+        this.antiDiagonals = new long[2][2 * size - 1];
+        this.counts = new int[2];
+    }
+
+    private BitBoard(BitBoard other) {
+        this.size = other.size;
+        this.lineMask = other.lineMask;
+        this.diagonalMasks = other.diagonalMasks;
+        this.antiDiagonalMasks = other.antiDiagonalMasks;
+        this.rows = new long[][] {other.rows[0].clone(), other.rows[1].clone()};
+        this.columns = new long[][] {other.columns[0].clone(), other.columns[1].clone()};
+        this.diagonals = new long[][] {other.diagonals[0].clone(), other.diagonals[1].clone()};
+        this.antiDiagonals = new long[][] {other.antiDiagonals[0].clone(), other.antiDiagonals[1].clone()};
+        this.counts = other.counts.clone();
+        this.hash = other.hash;
+    }
+
+    public static BitBoard of(GameBoard source) {
+        int n = source.getSize();
+        BitBoard b = new BitBoard(n);
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                char symbol = source.getSymbolAt(r, c);
+                if (symbol != EMPTY) b.set(r, c, colourIndex(symbol));
+            }
+        }
+        return b;
+    }
+
+    public static int colourIndex(char symbol) {
+        if (symbol == BLACK) return 0;
+        if (symbol == WHITE) return 1;
+        throw new IllegalArgumentException("Not a stone symbol: " + symbol);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public char getSymbolAt(int row, int col) {
+        if (!inBounds(row, col)) return EMPTY;
+        long bit = 1L << col;
+        if ((rows[0][row] & bit) != 0) return BLACK;
+        if ((rows[1][row] & bit) != 0) return WHITE;
+        return EMPTY;
+    }
+
+    public char getEmptySymbol() {
+        return EMPTY;
+    }
+
+    public boolean inBounds(int row, int col) {
+        return row >= 0 && row < size && col >= 0 && col < size;
+    }
+
+    public boolean isOccupied(int row, int col) {
+        return (((rows[0][row] | rows[1][row]) >>> col) & 1L) != 0;
+    }
+
+    public boolean isValidMove(int row, int col) {
+        return inBounds(row, col) && !isOccupied(row, col);
+    }
+
+    public boolean placeSymbol(int row, int col, char symbol) {
+        if (!isValidMove(row, col)) return false;
+        if (symbol != EMPTY) set(row, col, colourIndex(symbol));
+        return true;
+    }
+
+    public void setSymbolAt(int row, int col, char symbol) {
+        if (!inBounds(row, col)) return;
+        char current = getSymbolAt(row, col);
+        if (current == symbol) return;
+        if (current != EMPTY) unset(row, col, colourIndex(current));
+        if (symbol != EMPTY) set(row, col, colourIndex(symbol));
+    }
+
+    private void set(int row, int col, int colour) {
+        rows[colour][row] |= 1L << col;
+        columns[colour][col] |= 1L << row;
+        diagonals[colour][diagonalIndex(row, col)] |= 1L << row;
+        antiDiagonals[colour][antiDiagonalIndex(row, col)] |= 1L << row;
+        counts[colour]++;
+        hash ^= Zobrist.stoneKey(row, col, colour);
+        for (BoardListener listener : listeners) {
+            listener.stonePlaced(row, col, SYMBOLS[colour]);
+        }
+    }
+
+    private void unset(int row, int col, int colour) {
+        rows[colour][row] &= ~(1L << col);
+        columns[colour][col] &= ~(1L << row);
+        diagonals[colour][diagonalIndex(row, col)] &= ~(1L << row);
+        antiDiagonals[colour][antiDiagonalIndex(row, col)] &= ~(1L << row);
+        counts[colour]--;
+        hash ^= Zobrist.stoneKey(row, col, colour);
+        for (BoardListener listener : listeners) {
+            listener.stoneRemoved(row, col, SYMBOLS[colour]);
+        }
+    }
+
+    public void clear() {
+        if (listeners.length > 0) {
+            for (int colour = 0; colour < 2; colour++) {
+                for (int r = 0; r < size; r++) {
+                    for (long bits = rows[colour][r]; bits != 0; bits &= bits - 1) {
+                        unset(r, Long.numberOfTrailingZeros(bits), colour);
+                    }
+                }
+            }
+        }
+        for (int colour = 0; colour < 2; colour++) {
+            Arrays.fill(rows[colour], 0L);
+            Arrays.fill(columns[colour], 0L);
+            Arrays.fill(diagonals[colour], 0L);
+            Arrays.fill(antiDiagonals[colour], 0L);
+            counts[colour] = 0;
+        }
+        hash = 0L;
+    }
+
+    public boolean isFull() {
+        return counts[0] + counts[1] == size * size;
+    }
+
+    public boolean isEmpty() {
+        return counts[0] + counts[1] == 0;
+    }
+
+    public int getStoneCount() {
+        return counts[0] + counts[1];
+    }
+
+    public int getStoneCount(char symbol) {
+        return counts[colourIndex(symbol)];
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    public void addListener(BoardListener listener) {
+        BoardListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    public void removeListener(BoardListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                BoardListener[] updated = new BoardListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, updated, 0, i);
+                System.arraycopy(listeners, i + 1, updated, i, updated.length - i);
+                listeners = updated;
+                return;
+            }
+        }
+    }
+
+    // Makes this board equal to source by changing only the cells that differ, so attached
+    // listeners follow incrementally instead of being rebuilt.
+    public void copyFrom(GameBoard source) {
+        if (source.getSize() != size) throw new IllegalArgumentException("Board sizes differ: " + source.getSize() + " and " + size);
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                setSymbolAt(r, c, source.getSymbolAt(r, c));
+            }
+        }
+    }
+
+    public BitBoard copy() {
+        return new BitBoard(this);
+    }
+
+    // Treats (row, col) as holding symbol, like WinChecker.checkWin, and tests the four lines through it.
+    public boolean formsFive(int row, int col, char symbol) {
+        int colour = colourIndex(symbol);
+        return runLength(rows[colour][row], col) >= 5
+            || runLength(columns[colour][col], row) >= 5
+            || runLength(diagonals[colour][diagonalIndex(row, col)], row) >= 5
+            || runLength(antiDiagonals[colour][antiDiagonalIndex(row, col)], row) >= 5;
+    }
+
+    private static int runLength(long line, int bit) {
+        line |= 1L << bit;
+        int up = Long.numberOfTrailingZeros(~(line >>> bit));
+        int down = Long.numberOfLeadingZeros(~(line << (63 - bit)));
+        return up + down - 1;
+    }
+
+    public int diagonalIndex(int row, int col) {
+        return row - col + size - 1;
+    }
+
+    public int antiDiagonalIndex(int row, int col) {
+        return row + col;
+    }
+
+    public long getRowMask() {
+        return lineMask;
+    }
+
+    public long getColumnMask() {
+        return lineMask;
+    }
+
+    public long getDiagonalMask(int index) {
+        return diagonalMasks[index];
+    }
+
+    public long getAntiDiagonalMask(int index) {
+        return antiDiagonalMasks[index];
+    }
+
+    public long getRowBits(char symbol, int row) {
+        return rows[colourIndex(symbol)][row];
+    }
+
+    public long getColumnBits(char symbol, int col) {
+        return columns[colourIndex(symbol)][col];
+    }
+
+    public long getDiagonalBits(char symbol, int index) {
+        return diagonals[colourIndex(symbol)][index];
+    }
+
+    public long getAntiDiagonalBits(char symbol, int index) {
+        return antiDiagonals[colourIndex(symbol)][index];
+    }
+}
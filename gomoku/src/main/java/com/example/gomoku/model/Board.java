@@ -2,13 +2,12 @@ package com.example.gomoku.model;
 
 import java.util.Arrays;
 
-public class Board {
-    public static final char BLACK = 'B';
-    public static final char WHITE = 'W';
-    public static final char EMPTY = '.';
-
+public class Board implements GameBoard {
     private final int size;
     private final char[][] grid;
+    private int stones;
+    private long hash;
+    private BoardListener[] listeners = new BoardListener[0];
 
     public Board(int size) {
         this.size = size;
@@ -39,22 +38,41 @@ public class Board {
     public boolean placeSymbol(int row, int col, char symbol) {
         if (!isValidMove(row, col)) return false;
         grid[row][col] = symbol;
+        if (symbol != EMPTY) stones++;
+        hash ^= keyOf(row, col, symbol);
+        if (isStone(symbol)) firePlaced(row, col, symbol);
         return true;
     }
 
     public void clear() {
+        if (listeners.length > 0 && stones > 0) {
+            for (int r = 0; r < size; r++) {
+                for (int c = 0; c < size; c++) {
+                    if (isStone(grid[r][c])) fireRemoved(r, c, grid[r][c]);
+                }
+            }
+        }
         for (char[] row : grid) {
             Arrays.fill(row, EMPTY);
         }
+        stones = 0;
+        hash = 0L;
     }
 
     public boolean isFull() {
-        for (char[] row : grid) {
-            for (char cell : row) {
-                if (cell == EMPTY) return false;
-            }
-        }
-        return true;
+        return stones == size * size;
+    }
+
+    public boolean isEmpty() {
+        return stones == 0;
+    }
+
+    public int getStoneCount() {
+        return stones;
+    }
+
+    public long getHash() {
+        return hash;
     }
 
     public Board copy() {
@@ -62,10 +80,58 @@ public class Board {
         for (int i = 0; i < size; i++) {
             System.arraycopy(this.grid[i], 0, b.grid[i], 0, size);
         }
+        b.stones = stones;
+        b.hash = hash;
         return b;
     }
 
     public void setSymbolAt(int row, int col, char symbol) {
-        if (inBounds(row, col)) grid[row][col] = symbol;
+        if (!inBounds(row, col)) return;
+        if (grid[row][col] != EMPTY) stones--;
+        if (symbol != EMPTY) stones++;
+        char previous = grid[row][col];
+        hash ^= keyOf(row, col, previous) ^ keyOf(row, col, symbol);
+        grid[row][col] = symbol;
+        if (previous == symbol) return;
+        if (isStone(previous)) fireRemoved(row, col, previous);
+        if (isStone(symbol)) firePlaced(row, col, symbol);
+    }
+
+    public void addListener(BoardListener listener) {
+        BoardListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    public void removeListener(BoardListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                BoardListener[] updated = new BoardListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, updated, 0, i);
+                System.arraycopy(listeners, i + 1, updated, i, updated.length - i);
+                listeners = updated;
+                return;
+            }
+        }
+    }
+
+    private void firePlaced(int row, int col, char symbol) {
+        for (BoardListener listener : listeners) {
+            listener.stonePlaced(row, col, symbol);
+        }
+    }
+
+    private void fireRemoved(int row, int col, char symbol) {
+        for (BoardListener listener : listeners) {
+            listener.stoneRemoved(row, col, symbol);
+        }
+    }
+
+    private static boolean isStone(char symbol) {
+        return symbol == BLACK || symbol == WHITE;
+    }
+
+    private static long keyOf(int row, int col, char symbol) {
+        return isStone(symbol) ? Zobrist.stoneKey(row, col, symbol) : 0L;
     }
 }
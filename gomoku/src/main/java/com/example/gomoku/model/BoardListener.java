@@ -0,0 +1,7 @@
+package com.example.gomoku.model;
+
+public interface BoardListener {
+    void stonePlaced(int row, int col, char symbol);
+
+    void stoneRemoved(int row, int col, char symbol);
+}
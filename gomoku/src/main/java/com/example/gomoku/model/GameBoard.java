@@ -0,0 +1,37 @@
+package com.example.gomoku.model;
+
+public interface GameBoard {
+    char BLACK = 'B';
+    char WHITE = 'W';
+    char EMPTY = '.';
+
+    int getSize();
+
+    char getSymbolAt(int row, int col);
+
+    char getEmptySymbol();
+
+    boolean inBounds(int row, int col);
+
+    boolean isValidMove(int row, int col);
+
+    boolean placeSymbol(int row, int col, char symbol);
+
+    void setSymbolAt(int row, int col, char symbol);
+
+    void clear();
+
+    boolean isFull();
+
+    boolean isEmpty();
+
+    int getStoneCount();
+
+    long getHash();
+
+    void addListener(BoardListener listener);
+
+    void removeListener(BoardListener listener);
+
+    GameBoard copy();
+}
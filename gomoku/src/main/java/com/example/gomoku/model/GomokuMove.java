@@ -23,17 +23,17 @@ public class GomokuMove {
         return symbol;
     }
 
-    public boolean isValid(Board board) {
+    public boolean isValid(GameBoard board) {
         return board.isValidMove(row, col);
     }
 
-    public boolean execute(Board board) {
+    public boolean execute(GameBoard board) {
         return board.placeSymbol(row, col, symbol);
     }
 
-    public boolean undo(Board board) {
+    public boolean undo(GameBoard board) {
         if (!board.inBounds(row, col) || board.getSymbolAt(row, col) != symbol) return false;
-        board.setSymbolAt(row, col, Board.EMPTY);
+        board.setSymbolAt(row, col, GameBoard.EMPTY);
         return true;
     }
 }
@@ -0,0 +1,35 @@
+package com.example.gomoku.model;
+
+import java.util.SplittableRandom;
+
+public final class Zobrist {
+    private static final int STRIDE = BitBoard.MAX_SIZE;
+    private static final long[][] STONE_KEYS = new long[2][STRIDE * STRIDE];
+    private static final long[] SIDE_KEYS = new long[2];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED_60B0_4B1DL);
+        for (long[] keys : STONE_KEYS) {
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = random.nextLong();
+            }
+        }
+        SIDE_KEYS[0] = random.nextLong();
+        SIDE_KEYS[1] = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    public static long stoneKey(int row, int col, char symbol) {
+        return stoneKey(row, col, BitBoard.colourIndex(symbol));
+    }
+
+    static long stoneKey(int row, int col, int colour) {
+        return STONE_KEYS[colour][row * STRIDE + col];
+    }
+
+    public static long sideKey(char symbol) {
+        return SIDE_KEYS[BitBoard.colourIndex(symbol)];
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.gomoku.server;
+
+import com.example.gomoku.ai.EvaluationFunction;
+import com.example.gomoku.ai.MinimaxSearch;
+import com.example.gomoku.ai.MoveGenerator;
+import com.example.gomoku.ai.TimeManager;
+import com.example.gomoku.ai.TranspositionTable;
+import com.example.gomoku.model.BitBoard;
+import com.example.gomoku.model.GameBoard;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// A fixed number of engine threads, each with a single-threaded search of its own, fed from
+// a bounded queue that is served in arrival order. A move that finds the queue full is
+// refused at once, so a saturated server answers quickly instead of queueing without bound.
+public class EnginePool {
+    private static final int MAX_DEPTH = 64;
+
+    private final ThreadPoolExecutor executor;
+    private final ThreadLocal<Engine> engines = ThreadLocal.withInitial(Engine::new);
+    private final AtomicLong rejected = new AtomicLong();
+
+    public EnginePool(int workers, int queueCapacity) {
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity, true), runnable -> {
+                Thread t = new Thread(runnable, "Engine-" + count.getAndIncrement());
+                t.setDaemon(true);
+                return t;
+            });
+    }
+
+    // Completes with the AI's move packed as in PackedMove. The board must not change until
+    // then. Throws RejectedExecutionException when the queue is full.
+    public Future<Integer> submit(GameBoard board, char ai, char human, long timeLimitMs, long nodeBudget) {
+        try {
+            return executor.submit(() -> engines.get().move(board, ai, human, timeLimitMs, nodeBudget));
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw e;
+        }
+    }
+
+    public int getWorkers() {
+        return executor.getCorePoolSize();
+    }
+
+    public int getQueued() {
+        return executor.getQueue().size();
+    }
+
+    public int getActive() {
+        return executor.getActiveCount();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Keeps its board between requests and copies in only the cells that differ.
+    private static class Engine {
+        private final MinimaxSearch search = new MinimaxSearch(new EvaluationFunction(), new MoveGenerator(2), new TranspositionTable(), 1);
+        private BitBoard board;
+
+        int move(GameBoard position, char ai, char human, long timeLimitMs, long nodeBudget) {
+            if (board == null || board.getSize() != position.getSize()) board = BitBoard.of(position);
+            else board.copyFrom(position);
+            search.setTimeManager(new TimeManager(true, nodeBudget));
+            return search.searchMove(board, MAX_DEPTH, ai, human, timeLimitMs, null);
+        }
+    }
+}
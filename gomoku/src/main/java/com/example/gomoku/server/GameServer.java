@@ -0,0 +1,295 @@
+package com.example.gomoku.server;
+
+import com.example.gomoku.ai.PackedMove;
+import com.example.gomoku.game.WinChecker;
+import com.example.gomoku.model.GameBoard;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Usage: GameServer [port] [engineThreads] [queueCapacity] [httpThreads]
+// Hosts many games against the AI from one JVM over HTTP with JSON replies:
+//   POST   /games?size=15                           new game, the client plays Black
+//   GET    /games/{id}                              board rows as strings of B, W and .
+//   POST   /games/{id}/move?row=R&col=C[&ms=&nodes=] the client's move and the AI's reply
+//   DELETE /games/{id}
+//   GET    /metrics                                 sessions, throughput, p50/p99 move latency
+// AI moves run on an EnginePool; when its queue is full the move is undone and answered
+// with 503 and Retry-After. Sessions idle for IDLE_MINUTES are dropped.
+public class GameServer {
+    private static final int DEFAULT_SIZE = 15;
+    private static final long DEFAULT_MOVE_MS = 500;
+    private static final long MAX_MOVE_MS = 5000;
+    private static final long MAX_NODE_BUDGET = 5_000_000;
+    private static final int MAX_SESSIONS = 10000;
+    private static final long IDLE_MINUTES = 10;
+    private static final int LATENCY_WINDOW = 10000;
+
+    private final HttpServer server;
+    private final ExecutorService httpPool;
+    private final EnginePool engines;
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread t = new Thread(runnable, "Session-Sweeper");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Map<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong();
+    private final LatencyRecorder latency = new LatencyRecorder(LATENCY_WINDOW);
+
+    public GameServer(int port, int engineThreads, int queueCapacity, int httpThreads) throws IOException {
+        this.engines = new EnginePool(engineThreads, queueCapacity);
+        AtomicInteger count = new AtomicInteger();
+        this.httpPool = Executors.newFixedThreadPool(httpThreads, runnable -> new Thread(runnable, "Http-" + count.getAndIncrement()));
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(httpPool);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        int engineThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int queueCapacity = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        int httpThreads = args.length > 3 ? Integer.parseInt(args[3]) : 256;
+
+        GameServer gameServer = new GameServer(port, engineThreads, queueCapacity, httpThreads);
+        gameServer.start();
+        System.out.printf("Listening on port %d with %d engine threads, queue %d, %d HTTP threads%n",
+            gameServer.getPort(), engineThreads, queueCapacity, httpThreads);
+    }
+
+    public void start() {
+        sweeper.scheduleAtFixedRate(this::dropIdleSessions, 1, 1, TimeUnit.MINUTES);
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        sweeper.shutdownNow();
+        httpPool.shutdownNow();
+        engines.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            String method = exchange.getRequestMethod();
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            if (path.length == 2 && path[1].equals("metrics") && method.equals("GET")) {
+                send(exchange, 200, metrics());
+            } else if (path.length == 2 && path[1].equals("games") && method.equals("POST")) {
+                createGame(exchange, query);
+            } else if (path.length >= 3 && path[1].equals("games")) {
+                GameSession session = sessions.get(path[2]);
+                if (session == null) {
+                    send(exchange, 404, error("no game " + path[2]));
+                } else if (path.length == 3 && method.equals("GET")) {
+                    synchronized (session) {
+                        send(exchange, 200, state(session));
+                    }
+                } else if (path.length == 3 && method.equals("DELETE")) {
+                    sessions.remove(session.id);
+                    send(exchange, 204, null);
+                } else if (path.length == 4 && path[3].equals("move") && method.equals("POST")) {
+                    move(exchange, session, query);
+                } else {
+                    send(exchange, 404, error("not found"));
+                }
+            } else {
+                send(exchange, 404, error("not found"));
+            }
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, error(e.getMessage()));
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            send(exchange, 500, error("internal error"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void createGame(HttpExchange exchange, Map<String, String> query) throws IOException {
+        int size = intParam(query, "size", DEFAULT_SIZE, 5, 32);
+        if (sessions.size() >= MAX_SESSIONS) {
+            exchange.getResponseHeaders().set("Retry-After", "10");
+            send(exchange, 503, error("too many games"));
+            return;
+        }
+        GameSession session = new GameSession(Long.toString(nextId.incrementAndGet(), 36), size);
+        sessions.put(session.id, session);
+        send(exchange, 201, String.format("{\"id\":\"%s\",\"size\":%d}", session.id, size));
+    }
+
+    // The client's move, then the AI's reply from the engine pool within the requested budget.
+    private void move(HttpExchange exchange, GameSession session, Map<String, String> query) throws IOException {
+        long start = System.nanoTime();
+        int size = session.board.getSize();
+        int row = intParam(query, "row", -1, 0, size - 1);
+        int col = intParam(query, "col", -1, 0, size - 1);
+        long timeLimitMs = longParam(query, "ms", DEFAULT_MOVE_MS, 1, MAX_MOVE_MS);
+        long nodeBudget = longParam(query, "nodes", 0, 0, MAX_NODE_BUDGET);
+
+        synchronized (session) {
+            session.lastUsedMs = System.currentTimeMillis();
+            if (session.over) {
+                send(exchange, 409, error("game is over"));
+                return;
+            }
+            if (!session.board.placeSymbol(row, col, GameBoard.BLACK)) {
+                send(exchange, 409, error("illegal move " + row + "," + col));
+                return;
+            }
+            if (finished(session, row, col, GameBoard.BLACK)) {
+                send(exchange, 200, moveReply(session, PackedMove.NONE));
+                return;
+            }
+
+            Future<Integer> reply;
+            try {
+                reply = engines.submit(session.board, GameBoard.WHITE, GameBoard.BLACK, timeLimitMs, nodeBudget);
+            } catch (RejectedExecutionException e) {
+                // Back-pressure: the client retries the same move later.
+                session.board.setSymbolAt(row, col, GameBoard.EMPTY);
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                send(exchange, 503, error("engine pool is full"));
+                return;
+            }
+            int move = await(reply);
+            if (move == PackedMove.NONE) {
+                session.over = true;
+            } else {
+                session.board.placeSymbol(PackedMove.row(move), PackedMove.col(move), GameBoard.WHITE);
+                finished(session, PackedMove.row(move), PackedMove.col(move), GameBoard.WHITE);
+            }
+            latency.record(System.nanoTime() - start);
+            send(exchange, 200, moveReply(session, move));
+        }
+    }
+
+    private boolean finished(GameSession session, int row, int col, char symbol) {
+        if (WinChecker.checkWin(session.board, row, col, symbol)) {
+            session.winner = symbol;
+            session.over = true;
+        } else if (session.board.isFull()) {
+            session.over = true;
+        }
+        return session.over;
+    }
+
+    private int await(Future<Integer> reply) {
+        try {
+            return reply.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reply.cancel(true);
+            throw new IllegalStateException("interrupted while waiting for the engine", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("engine failed", e.getCause());
+        }
+    }
+
+    private void dropIdleSessions() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(IDLE_MINUTES);
+        sessions.values().removeIf(session -> session.lastUsedMs < cutoff);
+    }
+
+    private String moveReply(GameSession session, int move) {
+        String ai = move == PackedMove.NONE ? "null" : String.format("{\"row\":%d,\"col\":%d}", PackedMove.row(move), PackedMove.col(move));
+        return String.format("{\"ai\":%s,\"over\":%b,\"winner\":%s}", ai, session.over, winner(session));
+    }
+
+    private String state(GameSession session) {
+        StringBuilder rows = new StringBuilder();
+        int n = session.board.getSize();
+        for (int r = 0; r < n; r++) {
+            if (r > 0) rows.append(',');
+            rows.append('"');
+            for (int c = 0; c < n; c++) {
+                rows.append(session.board.getSymbolAt(r, c));
+            }
+            rows.append('"');
+        }
+        return String.format("{\"id\":\"%s\",\"size\":%d,\"board\":[%s],\"over\":%b,\"winner\":%s}",
+            session.id, n, rows, session.over, winner(session));
+    }
+
+    private String metrics() {
+        return String.format("{\"sessions\":%d,\"moves\":%d,\"movesPerSecond\":%.2f,\"p50Ms\":%.1f,\"p99Ms\":%.1f,"
+                + "\"engineThreads\":%d,\"engineActive\":%d,\"engineQueued\":%d,\"rejected\":%d}",
+            sessions.size(), latency.getCount(), latency.getThroughput(), latency.percentileMs(50), latency.percentileMs(99),
+            engines.getWorkers(), engines.getActive(), engines.getQueued(), engines.getRejected());
+    }
+
+    private static String winner(GameSession session) {
+        return session.winner == GameBoard.EMPTY ? "null" : "\"" + session.winner + "\"";
+    }
+
+    private static String error(String message) {
+        return "{\"error\":\"" + message.replace("\\", "\\\\").replace("\"", "\\\"") + "\"}";
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query == null) return params;
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) params.put(pair.substring(0, eq), pair.substring(eq + 1));
+        }
+        return params;
+    }
+
+    // A missing parameter takes the default; a default of -1 makes it required.
+    private static int intParam(Map<String, String> query, String name, int defaultValue, int min, int max) {
+        return (int) longParam(query, name, defaultValue, min, max);
+    }
+
+    private static long longParam(Map<String, String> query, String name, long defaultValue, long min, long max) {
+        String text = query.get(name);
+        if (text == null) {
+            if (defaultValue == -1) throw new IllegalArgumentException("missing parameter " + name);
+            return defaultValue;
+        }
+        long value;
+        try {
+            value = Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("parameter " + name + " is not a number: " + text);
+        }
+        if (value < min || value > max) throw new IllegalArgumentException("parameter " + name + " must be between " + min + " and " + max);
+        return value;
+    }
+}
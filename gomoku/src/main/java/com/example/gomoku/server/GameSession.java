@@ -0,0 +1,19 @@
+package com.example.gomoku.server;
+
+import com.example.gomoku.model.Board;
+import com.example.gomoku.model.GameBoard;
+
+// One game between a client, playing Black, and the AI. Requests on a session are handled
+// one at a time by synchronizing on it.
+class GameSession {
+    final String id;
+    final Board board;
+    char winner = GameBoard.EMPTY;
+    boolean over;
+    volatile long lastUsedMs = System.currentTimeMillis();
+
+    GameSession(String id, int size) {
+        this.id = id;
+        this.board = new Board(size);
+    }
+}
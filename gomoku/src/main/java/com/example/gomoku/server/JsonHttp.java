@@ -0,0 +1,60 @@
+package com.example.gomoku.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+// Blocking client for GameServer's API, one connection per request, used by LoadGenerator
+// and the server's tests. Bodies are returned as text; callers pick out what they need.
+class JsonHttp {
+    private final String baseUrl;
+
+    JsonHttp(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    Response request(String method, String path) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        connection.setRequestMethod(method);
+        try {
+            int status = connection.getResponseCode();
+            InputStream stream = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+            String body = stream == null ? "" : readAll(stream);
+            return new Response(status, body, connection.getHeaderField("Retry-After"));
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static String readAll(InputStream stream) throws IOException {
+        try (InputStream in = stream) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    static class Response {
+        final int status;
+        final String body;
+        // The Retry-After header in seconds, or null when the server sent none.
+        final String retryAfter;
+
+        Response(int status, String body, String retryAfter) {
+            this.status = status;
+            this.body = body;
+            this.retryAfter = retryAfter;
+        }
+
+        long retryAfterMs(long otherwise) {
+            return retryAfter == null ? otherwise : Long.parseLong(retryAfter) * 1000;
+        }
+    }
+}
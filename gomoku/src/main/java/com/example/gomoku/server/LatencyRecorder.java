@@ -0,0 +1,42 @@
+package com.example.gomoku.server;
+
+import java.util.Arrays;
+
+// Move latencies for the metrics endpoint: a running count and the most recent samples,
+// from which percentiles are computed on request.
+public class LatencyRecorder {
+    private final long[] samples;
+    private final long startNanos = System.nanoTime();
+    private long count;
+
+    public LatencyRecorder(int window) {
+        this.samples = new long[window];
+    }
+
+    public synchronized void record(long nanos) {
+        samples[(int) (count % samples.length)] = nanos;
+        count++;
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    // Moves per second since the recorder was created.
+    public synchronized double getThroughput() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return seconds == 0 ? 0.0 : count / seconds;
+    }
+
+    // Percentile in milliseconds over the recent samples, 0 without any.
+    public double percentileMs(double percentile) {
+        long[] sorted;
+        synchronized (this) {
+            sorted = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+        }
+        if (sorted.length == 0) return 0.0;
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.gomoku.server;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Usage: LoadGenerator [baseUrl] [sessions] [movesPerSession] [size] [ms]
+// Plays many games against a running GameServer at once, one client thread per game, and
+// reports the throughput and latency seen by the clients next to the server's /metrics.
+// Moves are random empty cells next to the stones already played; a 503 is retried after
+// the server's Retry-After.
+public class LoadGenerator {
+    private static final Pattern ID = Pattern.compile("\"id\":\"(\\w+)\"");
+    private static final Pattern AI_MOVE = Pattern.compile("\"ai\":\\{\"row\":(\\d+),\"col\":(\\d+)\\}");
+    private static final long DEFAULT_RETRY_MS = 100;
+
+    private final JsonHttp http;
+    private final int size;
+    private final long moveMs;
+    private final LatencyRecorder latency;
+    private final AtomicLong busy = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public LoadGenerator(String baseUrl, int size, long moveMs, int window) {
+        this.http = new JsonHttp(baseUrl);
+        this.size = size;
+        this.moveMs = moveMs;
+        this.latency = new LatencyRecorder(window);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int sessions = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int moves = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int size = args.length > 3 ? Integer.parseInt(args[3]) : 15;
+        long ms = args.length > 4 ? Long.parseLong(args[4]) : 50;
+
+        LoadGenerator generator = new LoadGenerator(baseUrl, size, ms, sessions * moves);
+        long start = System.nanoTime();
+        List<Thread> clients = new ArrayList<>();
+        for (int i = 0; i < sessions; i++) {
+            long seed = i;
+            Thread t = new Thread(() -> generator.play(moves, new Random(seed)), "Client-" + i);
+            clients.add(t);
+            t.start();
+        }
+        for (Thread t : clients) {
+            t.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d sessions x %d moves on %dx%d at %d ms in %.1f s%n", sessions, moves, size, size, ms, seconds);
+        System.out.printf("client: %d moves, %.1f moves/s, p50 %.1f ms, p99 %.1f ms, %d busy replies, %d failures%n",
+            generator.latency.getCount(), generator.latency.getCount() / seconds,
+            generator.latency.percentileMs(50), generator.latency.percentileMs(99), generator.busy.get(), generator.failures.get());
+        System.out.println("server: " + generator.http.request("GET", "/metrics").body);
+    }
+
+    private void play(int moves, Random random) {
+        try {
+            JsonHttp.Response created = http.request("POST", "/games?size=" + size);
+            Matcher id = ID.matcher(created.body);
+            if (created.status != 201 || !id.find()) {
+                failures.incrementAndGet();
+                return;
+            }
+            String game = "/games/" + id.group(1);
+            boolean[][] taken = new boolean[size][size];
+            int[] last = {size / 2, size / 2};
+            for (int i = 0; i < moves; i++) {
+                int[] cell = pickCell(taken, last, random);
+                if (cell == null) break;
+                JsonHttp.Response reply = move(game, cell);
+                if (reply.status != 200) {
+                    if (reply.status != 409) failures.incrementAndGet();
+                    break;
+                }
+                taken[cell[0]][cell[1]] = true;
+                Matcher ai = AI_MOVE.matcher(reply.body);
+                if (ai.find()) {
+                    last = new int[] {Integer.parseInt(ai.group(1)), Integer.parseInt(ai.group(2))};
+                    taken[last[0]][last[1]] = true;
+                }
+                if (reply.body.contains("\"over\":true")) break;
+            }
+            http.request("DELETE", game);
+        } catch (IOException | InterruptedException e) {
+            failures.incrementAndGet();
+            e.printStackTrace();
+        }
+    }
+
+    // Latency covers the retries, as a player waiting on a busy server would see it.
+    private JsonHttp.Response move(String game, int[] cell) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        while (true) {
+            JsonHttp.Response reply = http.request("POST", game + "/move?row=" + cell[0] + "&col=" + cell[1] + "&ms=" + moveMs);
+            if (reply.status != 503) {
+                if (reply.status == 200) latency.record(System.nanoTime() - start);
+                return reply;
+            }
+            busy.incrementAndGet();
+            Thread.sleep(reply.retryAfterMs(DEFAULT_RETRY_MS));
+        }
+    }
+
+    // An empty cell within two of the last AI move, or anywhere empty when none is.
+    private int[] pickCell(boolean[][] taken, int[] near, Random random) {
+        for (int tries = 0; tries < 50; tries++) {
+            int row = near[0] + random.nextInt(5) - 2;
+            int col = near[1] + random.nextInt(5) - 2;
+            if (row >= 0 && col >= 0 && row < size && col < size && !taken[row][col]) return new int[] {row, col};
+        }
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (!taken[row][col]) return new int[] {row, col};
+            }
+        }
+        return null;
+    }
+}
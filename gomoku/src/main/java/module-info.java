@@ -3,6 +3,8 @@ module com.example.gomoku {
     requires javafx.fxml;
     requires javafx.graphics;
     requires javafx.base;
+    requires jdk.jfr;
+    requires jdk.httpserver;
 
 
     opens com.example.gomoku to javafx.fxml;
@@ -0,0 +1,171 @@
+package com.example.gomoku;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.PipedReader;
+import java.io.PipedWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Drives the engine the way a match manager does, through its input and output streams. The
+// manager answers each engine move with an empty cell of its own.
+class PiskvorkEngineTest {
+    private static final int SIZE = 15;
+
+    @Test
+    void playsAGameAfterBegin() throws Exception {
+        Manager manager = new Manager();
+        assertEquals("OK", manager.ask("START 15"));
+        manager.send("INFO timeout_turn 200");
+        manager.send("INFO timeout_match 0");
+        assertTrue(manager.ask("ABOUT").startsWith("name=\"Gomoku\""));
+        String reply = manager.ask("BEGIN");
+        for (int turn = 0; turn < 4; turn++) {
+            manager.engineMoved(reply);
+            reply = manager.ask("TURN " + manager.emptyCell());
+        }
+        manager.engineMoved(reply);
+        assertTrue(manager.ask("RECTSTART 15,20").startsWith("ERROR"));
+        manager.end();
+    }
+
+    @Test
+    void answersBoardAndTakeback() throws Exception {
+        Manager manager = new Manager();
+        assertEquals("OK", manager.ask("START 15"));
+        manager.send("INFO timeout_turn 300");
+        manager.send("BOARD");
+        manager.send("7,7,1");
+        manager.send("8,7,2");
+        manager.send("7,8,1");
+        manager.taken.add("7,7");
+        manager.taken.add("8,7");
+        manager.taken.add("7,8");
+        String reply = manager.ask("DONE");
+        manager.engineMoved(reply);
+        assertEquals("OK", manager.ask("TAKEBACK " + reply));
+        manager.taken.remove(reply);
+        assertEquals("OK", manager.ask("TAKEBACK 8,7"));
+        manager.taken.add("8,7");
+        manager.engineMoved(manager.ask("TURN 8,7"));
+        manager.end();
+    }
+
+    // Our four in a row on x = 7 must be completed at once.
+    @Test
+    void completesAFive() throws Exception {
+        Manager manager = new Manager();
+        assertEquals("OK", manager.ask("START 15"));
+        manager.send("INFO timeout_turn 300");
+        manager.send("BOARD");
+        for (String stone : new String[] {"7,3,1", "0,0,2", "7,4,1", "0,2,2", "7,5,1", "14,0,2", "7,6,1", "14,14,2"}) {
+            manager.send(stone);
+        }
+        String reply = manager.ask("DONE");
+        assertTrue(reply.equals("7,7") || reply.equals("7,2"), reply);
+        manager.end();
+    }
+
+    // timeout_turn 0 asks for the fastest move, not an unlimited search.
+    @Test
+    void turnTimeZeroMovesAtOnce() throws Exception {
+        Manager manager = new Manager();
+        assertEquals("OK", manager.ask("START 15"));
+        manager.send("INFO timeout_turn 0");
+        manager.send("INFO timeout_match 0");
+        long start = System.nanoTime();
+        String reply = manager.ask("BEGIN");
+        for (int turn = 0; turn < 3; turn++) {
+            manager.engineMoved(reply);
+            reply = manager.ask("TURN " + manager.emptyCell());
+        }
+        manager.engineMoved(reply);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(elapsedMs < 5000, "four moves took " + elapsedMs + " ms");
+        manager.end();
+    }
+
+    @Test
+    void rejectsBadCommands() throws Exception {
+        Manager manager = new Manager();
+        assertTrue(manager.ask("TURN 7,7").startsWith("ERROR"));
+        assertTrue(manager.ask("START 3").startsWith("ERROR"));
+        assertEquals("OK", manager.ask("START 15"));
+        assertTrue(manager.ask("TURN 20,20").startsWith("ERROR"));
+        assertTrue(manager.ask("TAKEBACK 1,1").startsWith("ERROR"));
+        assertEquals("UNKNOWN FOO", manager.ask("FOO"));
+        manager.end();
+    }
+
+    // The engine on its own thread, connected by pipes.
+    private static class Manager {
+        final Set<String> taken = new HashSet<>();
+        private final PrintWriter commands;
+        private final BufferedReader replies;
+        private final Thread engine;
+
+        Manager() throws IOException {
+            PipedWriter writer = new PipedWriter();
+            BufferedReader engineIn = new BufferedReader(new PipedReader(writer));
+            PipedInputStream engineOutput = new PipedInputStream();
+            PrintStream engineOut = new PrintStream(new PipedOutputStream(engineOutput), true, "UTF-8");
+            commands = new PrintWriter(writer, true);
+            replies = new BufferedReader(new InputStreamReader(engineOutput, StandardCharsets.UTF_8));
+            engine = new Thread(() -> {
+                try {
+                    new PiskvorkEngine(engineIn, engineOut, 1).run();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, "Piskvork-Engine");
+            engine.start();
+        }
+
+        void send(String command) {
+            commands.println(command);
+        }
+
+        String ask(String command) throws IOException {
+            send(command);
+            return replies.readLine();
+        }
+
+        // Checks that the engine's move is on the board and on an empty cell.
+        void engineMoved(String move) {
+            String[] parts = move.split(",");
+            assertEquals(2, parts.length, move);
+            int x = Integer.parseInt(parts[0]);
+            int y = Integer.parseInt(parts[1]);
+            assertTrue(x >= 0 && y >= 0 && x < SIZE && y < SIZE, move);
+            assertTrue(taken.add(move), "occupied cell " + move);
+        }
+
+        String emptyCell() {
+            for (int y = 0; y < SIZE; y++) {
+                for (int x = 0; x < SIZE; x++) {
+                    if (taken.add(x + "," + y)) return x + "," + y;
+                }
+            }
+            throw new IllegalStateException("board is full");
+        }
+
+        void end() throws InterruptedException {
+            send("END");
+            engine.join(5000);
+            assertFalse(engine.isAlive());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.gomoku.ai;
+
+import com.example.gomoku.model.Board;
+import com.example.gomoku.model.GameBoard;
+import com.example.gomoku.model.GomokuMove;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AIPlayerTest {
+    private static final int TIME_LIMIT_MS = 3000;
+
+    @Test
+    void rearmRestartsTheClockOfARunningSearch() throws Exception {
+        MinimaxSearch search = new MinimaxSearch(new EvaluationFunction(), new MoveGenerator(2));
+        TimeManager clock = new TimeManager(false, 0);
+        search.setTimeManager(clock);
+        Board board = opening();
+        CompletableFuture<Integer> running = CompletableFuture.supplyAsync(() -> search.searchMove(board, 64, GameBoard.WHITE, GameBoard.BLACK, 60_000, null));
+        Thread.sleep(200);
+        long rearmed = System.nanoTime();
+        clock.rearm(300);
+        int move = running.get(10, TimeUnit.SECONDS);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - rearmed);
+        assertNotEquals(PackedMove.NONE, move);
+        assertTrue(elapsedMs < 2000, "search ran " + elapsedMs + " ms after a 300 ms rearm");
+        search.shutdown();
+    }
+
+    // The pondering search has already spent more than its soft limit on the position, so a
+    // hit is answered at once instead of waiting out the whole time limit.
+    @Test
+    void ponderHitStopsEarly() throws Exception {
+        MinimaxSearch search = new MinimaxSearch(new EvaluationFunction(), new MoveGenerator(2));
+        AIPlayer player = new AIPlayer(GameBoard.WHITE, GameBoard.BLACK, 64, TIME_LIMIT_MS, search);
+        player.setPondering(true);
+        Board board = opening();
+        // A tied root move can leave the principal variation without a reply, so play on
+        // until the AI predicts one.
+        int reply = TranspositionTable.NO_MOVE;
+        for (int turn = 0; turn < 5 && reply == TranspositionTable.NO_MOVE; turn++) {
+            GomokuMove move = player.getBestMove(board, null);
+            assertNotNull(move);
+            board.placeSymbol(move.getRow(), move.getCol(), GameBoard.WHITE);
+            reply = search.principalVariationCell(1);
+            if (reply == TranspositionTable.NO_MOVE) playNear(board, move);
+        }
+        assertNotEquals(TranspositionTable.NO_MOVE, reply);
+
+        player.startPondering(board);
+        Thread.sleep(TIME_LIMIT_MS);
+        board.placeSymbol(reply / board.getSize(), reply % board.getSize(), GameBoard.BLACK);
+        long start = System.nanoTime();
+        assertNotNull(player.getBestMove(board, null));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMs < TIME_LIMIT_MS - 500, "ponder hit took " + elapsedMs + " ms");
+        player.setPondering(false);
+        search.shutdown();
+    }
+
+    private static void playNear(Board board, GomokuMove move) {
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                if (board.isValidMove(move.getRow() + dr, move.getCol() + dc)) {
+                    board.placeSymbol(move.getRow() + dr, move.getCol() + dc, GameBoard.BLACK);
+                    return;
+                }
+            }
+        }
+    }
+
+    private static Board opening() {
+        Board board = new Board(15);
+        board.placeSymbol(7, 7, GameBoard.BLACK);
+        board.placeSymbol(7, 8, GameBoard.WHITE);
+        board.placeSymbol(8, 8, GameBoard.BLACK);
+        return board;
+    }
+}
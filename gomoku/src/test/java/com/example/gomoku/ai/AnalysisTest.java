@@ -0,0 +1,46 @@
+package com.example.gomoku.ai;
+
+import com.example.gomoku.model.Board;
+import com.example.gomoku.model.GameBoard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.SubmissionPublisher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The runner-up lines of an analysis are searched on top of the move's budget, so with a node
+// budget the move is searched as deeply with analysis as without.
+class AnalysisTest {
+    private static final int[][] STONES = {{7, 7}, {7, 8}, {8, 8}, {6, 6}, {8, 7}, {9, 9}, {6, 8}};
+    private static final long[] BUDGETS = {50_000, 200_000};
+
+    @Test
+    void analysisDoesNotShortenTheMoveSearch() {
+        for (long budget : BUDGETS) {
+            for (int stones = 3; stones <= STONES.length; stones += 2) {
+                SearchStats plain = search(budget, stones, 0);
+                SearchStats analysed = search(budget, stones, 3);
+                String position = stones + " stones, budget " + budget;
+                assertEquals(plain.getCompletedDepth(), analysed.getCompletedDepth(), position);
+                assertTrue(analysed.getNodes() > budget, position + ": analysis was charged to the move");
+            }
+        }
+    }
+
+    private static SearchStats search(long budget, int stones, int lines) {
+        MinimaxSearch search = new MinimaxSearch(new EvaluationFunction(), new MoveGenerator(2), new TranspositionTable());
+        search.setSeed(1);
+        search.setTimeManager(new TimeManager(true, budget));
+        SubmissionPublisher<Analysis> publisher = new SubmissionPublisher<>();
+        if (lines > 0) search.setAnalysis(lines, publisher);
+        Board board = new Board(15);
+        for (int i = 0; i < stones; i++) {
+            board.placeSymbol(STONES[i][0], STONES[i][1], i % 2 == 0 ? GameBoard.BLACK : GameBoard.WHITE);
+        }
+        search.searchMove(board, 64, GameBoard.WHITE, GameBoard.BLACK, 60_000, null);
+        publisher.close();
+        return search.getLastStats();
+    }
+}
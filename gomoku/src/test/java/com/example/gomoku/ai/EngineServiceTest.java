@@ -0,0 +1,38 @@
+package com.example.gomoku.ai;
+
+import com.example.gomoku.model.GameBoard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class EngineServiceTest {
+    private static final int TIME_LIMIT_MS = 20_000;
+
+    // A think requested after a stop must not clear the stop of the one before it.
+    @Test
+    void stopOnlyEndsEarlierThinks() throws Exception {
+        MinimaxSearch search = new MinimaxSearch(new EvaluationFunction(), new MoveGenerator(2), new TranspositionTable(), 2);
+        search.setTimeManager(new TimeManager(false, 0));
+        EngineService engine = new EngineService(new AIPlayer(GameBoard.WHITE, GameBoard.BLACK, 64, TIME_LIMIT_MS, search), 15);
+        engine.play(7, 7, GameBoard.BLACK);
+        engine.play(7, 8, GameBoard.WHITE);
+        engine.play(8, 8, GameBoard.BLACK);
+
+        CompletableFuture<?> first = engine.think();
+        Thread.sleep(200);
+        engine.stop();
+        CompletableFuture<?> second = engine.think();
+        assertNotNull(first.get(5, TimeUnit.SECONDS));
+        Thread.sleep(500);
+        assertFalse(second.isDone());
+
+        engine.stop();
+        assertNotNull(second.get(5, TimeUnit.SECONDS));
+        engine.shutdown();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.gomoku.ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Line patterns read left to right: X own stone, O opposing stone, _ empty. The board edge
+// lies just past either end, so a pattern that starts or ends with X is blocked there.
+class EvaluationFunctionTest {
+    private static final Object[][] PATTERNS = {
+        {"_XXXXX_", 100000},
+        {"XXXXX", 100000},
+        {"_XXXX_", 10000},
+        {"OXXXX_", 1000},
+        {"XXXX_", 1000},
+        {"_XXXXO", 1000},
+        {"OXXXXO", 1000},
+        // Gapped fours have a single completion point.
+        {"_XX_XX_", 1000},
+        {"X_XXX", 1000},
+        {"XXX_X", 1000},
+        {"OXX_XXO", 1000},
+        {"_X_XXX_", 1000},
+        {"_XXX_X_", 1000},
+        // Broken threes, open only with both ends empty.
+        {"_X_XX_", 500},
+        {"_XX_X_", 500},
+        {"OX_XX_", 50},
+        {"_XX_XO", 50},
+        {"X_XX_", 50},
+        {"_X_XX", 50},
+        {"_XXX_", 500},
+        {"OXXX_", 50},
+        {"XXX_", 50},
+        {"_XX_", 50},
+        {"OXX_", 5},
+        {"XX", 5},
+        {"_X_", 0},
+        {"_X_X_X_", 0},
+        {"_XXO", 5},
+        {"____", 0},
+        // Only the first run of own stones on a line is scored.
+        {"_XX__XXX_", 50},
+    };
+
+    @Test
+    void scoresLinePatterns() {
+        for (Object[] pattern : PATTERNS) {
+            String line = (String) pattern[0];
+            assertEquals((int) pattern[1], EvaluationFunction.scoreLine(bits(line, 'X'), bits(line, '_')), line);
+        }
+    }
+
+    @Test
+    void scoresColoursAlike() {
+        for (Object[] pattern : PATTERNS) {
+            String line = (String) pattern[0];
+            String swapped = line.replace('X', 'o').replace('O', 'X').replace('o', 'O');
+            assertEquals(EvaluationFunction.scoreLine(bits(line, 'X'), bits(line, '_')),
+                EvaluationFunction.scoreLine(bits(swapped, 'O'), bits(swapped, '_')), line);
+        }
+    }
+
+    @Test
+    void findsFourWindows() {
+        assertTrue(EvaluationFunction.hasFourWindow(bits("_XXX_", 'X'), bits("_XXX_", '_')));
+        assertTrue(EvaluationFunction.hasFourWindow(bits("X_X_X", 'X'), bits("X_X_X", '_')));
+        assertFalse(EvaluationFunction.hasFourWindow(bits("OXXX_O", 'X'), bits("OXXX_O", '_')));
+        assertFalse(EvaluationFunction.hasFourWindow(bits("_XX__", 'X'), bits("_XX__", '_')));
+    }
+
+    // Cell i of the pattern is bit i.
+    private static long bits(String line, char symbol) {
+        long bits = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == symbol) bits |= 1L << i;
+        }
+        return bits;
+    }
+}
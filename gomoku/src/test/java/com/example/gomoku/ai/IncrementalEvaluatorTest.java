@@ -0,0 +1,167 @@
+package com.example.gomoku.ai;
+
+import com.example.gomoku.model.BitBoard;
+import com.example.gomoku.model.Board;
+import com.example.gomoku.model.GameBoard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Plays random moves and take-backs and compares the tracked scores after each one with an
+// independent scorer that walks the board cell by cell.
+class IncrementalEvaluatorTest {
+    private static final int GAMES = 40;
+    private static final int STEPS = 150;
+    private static final int WIN = 100000;
+
+    private final EvaluationFunction eval = new EvaluationFunction();
+
+    @Test
+    void matchesRescanOnBoard() {
+        for (int size : new int[] {10, 15, 19}) {
+            play(new Board(size), size);
+        }
+    }
+
+    @Test
+    void matchesRescanOnBitBoard() {
+        for (int size : new int[] {10, 15, 19}) {
+            play(new BitBoard(size), size);
+        }
+    }
+
+    @Test
+    void matchesRescanWithLineCache() {
+        EvaluationFunction cached = new EvaluationFunction(10);
+        BitBoard board = new BitBoard(15);
+        IncrementalEvaluator tracked = cached.track(board);
+        Random random = new Random(3);
+        for (int step = 0; step < 400; step++) {
+            step(board, random, new ArrayList<>());
+            assertScores(board, tracked, step);
+        }
+    }
+
+    private void play(GameBoard board, long seed) {
+        IncrementalEvaluator tracked = eval.track(board);
+        Random random = new Random(seed);
+        for (int game = 0; game < GAMES; game++) {
+            List<int[]> played = new ArrayList<>();
+            for (int step = 0; step < STEPS; step++) {
+                step(board, random, played);
+                assertScores(board, tracked, step);
+            }
+            board.clear();
+            assertScores(board, tracked, -1);
+        }
+        tracked.detach();
+    }
+
+    // Mostly places a stone, sometimes takes back the last one as the search does.
+    private static void step(GameBoard board, Random random, List<int[]> played) {
+        int n = board.getSize();
+        if (!played.isEmpty() && random.nextInt(4) == 0) {
+            int[] last = played.remove(played.size() - 1);
+            board.setSymbolAt(last[0], last[1], GameBoard.EMPTY);
+            return;
+        }
+        if (board.isFull()) return;
+        int row;
+        int col;
+        do {
+            row = random.nextInt(n);
+            col = random.nextInt(n);
+        } while (!board.isValidMove(row, col));
+        board.placeSymbol(row, col, random.nextBoolean() ? GameBoard.BLACK : GameBoard.WHITE);
+        played.add(new int[] {row, col});
+    }
+
+    private void assertScores(GameBoard board, IncrementalEvaluator tracked, int step) {
+        for (char player : new char[] {GameBoard.BLACK, GameBoard.WHITE}) {
+            assertEquals(referenceScore(board, player), tracked.evaluatePlayer(player), "score of " + player + " at step " + step);
+            assertEquals(referenceFive(board, player), tracked.hasFive(player), "five of " + player + " at step " + step);
+        }
+        int expected = referenceFive(board, GameBoard.BLACK) ? WIN
+            : referenceFive(board, GameBoard.WHITE) ? -WIN
+            : referenceScore(board, GameBoard.BLACK) - referenceScore(board, GameBoard.WHITE);
+        assertEquals(expected, tracked.evaluate(GameBoard.BLACK, GameBoard.WHITE), "evaluation at step " + step);
+    }
+
+    // The reference walks the board cell by cell and shares no code with the evaluator.
+    // Every row, column, diagonal and anti-diagonal is read top-left first as a string of
+    // X (player), O (opponent) and _ (empty).
+    private static List<String> lines(GameBoard board, char player) {
+        int n = board.getSize();
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            lines.add(walk(board, player, i, 0, 0, 1));
+            lines.add(walk(board, player, 0, i, 1, 0));
+        }
+        for (int start = 0; start < n; start++) {
+            lines.add(walk(board, player, 0, start, 1, 1));
+            lines.add(walk(board, player, 0, start, 1, -1));
+            if (start > 0) {
+                lines.add(walk(board, player, start, 0, 1, 1));
+                lines.add(walk(board, player, start, n - 1, 1, -1));
+            }
+        }
+        return lines;
+    }
+
+    private static String walk(GameBoard board, char player, int row, int col, int dRow, int dCol) {
+        StringBuilder line = new StringBuilder();
+        for (int r = row, c = col; r >= 0 && c >= 0 && r < board.getSize() && c < board.getSize(); r += dRow, c += dCol) {
+            char symbol = board.getSymbolAt(r, c);
+            line.append(symbol == player ? 'X' : symbol == GameBoard.EMPTY ? '_' : 'O');
+        }
+        return line.toString();
+    }
+
+    private static int referenceScore(GameBoard board, char player) {
+        int total = 0;
+        for (String line : lines(board, player)) {
+            total += referenceLineScore(line);
+        }
+        return total;
+    }
+
+    private static boolean referenceFive(GameBoard board, char player) {
+        for (String line : lines(board, player)) {
+            if (line.contains("XXXXX")) return true;
+        }
+        return false;
+    }
+
+    // Only the first run of the player's stones on a line counts: its length and open ends,
+    // or a gapped four or three starting at it when that scores more.
+    private static int referenceLineScore(String line) {
+        int first = line.indexOf('X');
+        if (first < 0) return 0;
+        int run = 0;
+        while (first + run < line.length() && line.charAt(first + run) == 'X') {
+            run++;
+        }
+        if (run >= 5) return WIN;
+        boolean before = first > 0 && line.charAt(first - 1) == '_';
+        boolean after = first + run < line.length() && line.charAt(first + run) == '_';
+        boolean open = before && after;
+        int score = 0;
+        if (run == 4) score = open ? 10000 : 1000;
+        else if (run == 3) score = open ? 500 : 50;
+        else if (run == 2) score = open ? 50 : 5;
+
+        int broken = 0;
+        if (line.startsWith("X_XXX", first) || line.startsWith("XX_XX", first) || line.startsWith("XXX_X", first)) {
+            broken = 1000;
+        } else if (line.startsWith("X_XX", first) || line.startsWith("XX_X", first)) {
+            boolean brokenOpen = before && first + 4 < line.length() && line.charAt(first + 4) == '_';
+            broken = brokenOpen ? 500 : 50;
+        }
+        return Math.max(score, broken);
+    }
+}
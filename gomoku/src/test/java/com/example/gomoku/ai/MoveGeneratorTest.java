@@ -0,0 +1,95 @@
+package com.example.gomoku.ai;
+
+import com.example.gomoku.model.BitBoard;
+import com.example.gomoku.model.Board;
+import com.example.gomoku.model.GameBoard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// The tracked frontier must hold exactly the empty cells a full neighbourhood scan finds.
+class MoveGeneratorTest {
+    @Test
+    void frontierMatchesRadiusScan() {
+        for (int radius = 1; radius <= 3; radius++) {
+            check(new Board(15), radius, 11 + radius);
+            check(new BitBoard(19), radius, 23 + radius);
+        }
+    }
+
+    @Test
+    void emptyBoardStartsInTheCentre() {
+        MoveGenerator generator = new MoveGenerator(2);
+        Board board = new Board(15);
+        int[] cells = new int[15 * 15];
+        assertEquals(1, generator.generateMoves(generator.track(board), board, cells));
+        assertEquals(7 * 15 + 7, cells[0]);
+    }
+
+    @Test
+    void rejectsRadiusBelowOne() {
+        assertThrows(IllegalArgumentException.class, () -> new MoveGenerator(0));
+        assertThrows(IllegalArgumentException.class, () -> new MoveGenerator(-1));
+    }
+
+    private static void check(GameBoard board, int radius, long seed) {
+        MoveGenerator generator = new MoveGenerator(radius);
+        Frontier frontier = generator.track(board);
+        Random random = new Random(seed);
+        int n = board.getSize();
+        int[] cells = new int[n * n];
+        List<int[]> played = new ArrayList<>();
+        for (int step = 0; step < 2000; step++) {
+            if (!played.isEmpty() && (random.nextInt(3) == 0 || board.getStoneCount() > n * n / 2)) {
+                int[] last = played.remove(played.size() - 1);
+                board.setSymbolAt(last[0], last[1], GameBoard.EMPTY);
+            } else {
+                int row;
+                int col;
+                do {
+                    row = random.nextInt(n);
+                    col = random.nextInt(n);
+                } while (!board.isValidMove(row, col));
+                board.placeSymbol(row, col, random.nextBoolean() ? GameBoard.BLACK : GameBoard.WHITE);
+                played.add(new int[] {row, col});
+            }
+            if (board.isEmpty()) continue;
+            int count = generator.generateMoves(frontier, board, cells);
+            int[] tracked = Arrays.copyOf(cells, count);
+            Arrays.sort(tracked);
+            assertArrayEquals(scan(board, radius), tracked, "radius " + radius + " at step " + step);
+        }
+        frontier.detach();
+    }
+
+    // Every empty cell with a stone within radius in any direction, in index order.
+    private static int[] scan(GameBoard board, int radius) {
+        int n = board.getSize();
+        List<Integer> found = new ArrayList<>();
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                if (board.getSymbolAt(r, c) != GameBoard.EMPTY) continue;
+                boolean near = false;
+                for (int dr = -radius; dr <= radius && !near; dr++) {
+                    for (int dc = -radius; dc <= radius && !near; dc++) {
+                        near = board.inBounds(r + dr, c + dc) && board.getSymbolAt(r + dr, c + dc) != GameBoard.EMPTY;
+                    }
+                }
+                if (near) found.add(r * n + c);
+            }
+        }
+        int[] cells = new int[found.size()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = found.get(i);
+        }
+        return cells;
+    }
+}
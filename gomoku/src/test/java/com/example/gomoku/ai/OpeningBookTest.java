@@ -0,0 +1,119 @@
+package com.example.gomoku.ai;
+
+import com.example.gomoku.model.Board;
+import com.example.gomoku.model.GameBoard;
+import com.example.gomoku.model.GomokuMove;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// An asymmetric opening seen in all 8 orientations of the board. The orientations are
+// built here by rotating and mirroring, not with the book's own symmetry code.
+class OpeningBookTest {
+    private static final int SIZE = 15;
+    private static final int[][] STONES = {{7, 7}, {7, 8}, {6, 8}, {9, 5}};
+    private static final int[] MOVE = {8, 6};
+
+    @Test
+    void everyOrientationHasTheSameKey() {
+        Set<String> boards = new HashSet<>();
+        long key = OpeningBook.canonicalKey(orient(0), GameBoard.BLACK, new int[1]);
+        for (int orientation = 0; orientation < 8; orientation++) {
+            Board board = orient(orientation);
+            boards.add(layout(board));
+            assertEquals(key, OpeningBook.canonicalKey(board, GameBoard.BLACK, new int[1]), "orientation " + orientation);
+        }
+        assertEquals(8, boards.size(), "the orientations should all differ");
+        assertNotEquals(key, OpeningBook.canonicalKey(orient(0), GameBoard.WHITE, new int[1]), "the side to move is part of the key");
+    }
+
+    // The move stored from any orientation lands on the same canonical cell and comes back
+    // as the move in that orientation.
+    @Test
+    void movesMapBackUnderEverySymmetry() {
+        int[] symmetry = new int[1];
+        OpeningBook.canonicalKey(orient(0), GameBoard.BLACK, symmetry);
+        int canonical = OpeningBook.toCanonical(symmetry[0], MOVE[0], MOVE[1], SIZE);
+        for (int orientation = 0; orientation < 8; orientation++) {
+            int[] move = orient(orientation, MOVE[0], MOVE[1]);
+            OpeningBook.canonicalKey(orient(orientation), GameBoard.BLACK, symmetry);
+            assertEquals(canonical, OpeningBook.toCanonical(symmetry[0], move[0], move[1], SIZE), "orientation " + orientation);
+            assertEquals(move[0] * SIZE + move[1], OpeningBook.fromCanonical(symmetry[0], canonical, SIZE), "orientation " + orientation);
+        }
+        for (int s = 0; s < OpeningBook.SYMMETRIES; s++) {
+            for (int cell = 0; cell < SIZE * SIZE; cell++) {
+                assertEquals(cell, OpeningBook.fromCanonical(s, OpeningBook.toCanonical(s, cell / SIZE, cell % SIZE, SIZE), SIZE));
+            }
+        }
+    }
+
+    @Test
+    void writesAndLooksUpTheBook(@TempDir Path dir) throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(SIZE);
+        int[] stored = orient(3, MOVE[0], MOVE[1]);
+        builder.add(orient(3), GameBoard.BLACK, stored[0], stored[1], 2);
+        Board lost = new Board(SIZE);
+        lost.placeSymbol(7, 7, GameBoard.BLACK);
+        builder.add(lost, GameBoard.WHITE, 8, 8, 0);
+        Path path = dir.resolve("book.bin");
+        builder.write(path);
+
+        OpeningBook book = OpeningBook.open(path);
+        assertEquals(SIZE, book.getBoardSize());
+        assertEquals(1, book.size(), "a move that never scored is not written");
+        Random random = new Random(1);
+        for (int orientation = 0; orientation < 8; orientation++) {
+            int[] move = orient(orientation, MOVE[0], MOVE[1]);
+            GomokuMove chosen = book.choose(orient(orientation), GameBoard.BLACK, random);
+            assertNotNull(chosen, "orientation " + orientation);
+            assertEquals(move[0], chosen.getRow(), "orientation " + orientation);
+            assertEquals(move[1], chosen.getCol(), "orientation " + orientation);
+        }
+        assertNull(book.choose(orient(0), GameBoard.WHITE, random));
+        assertNull(book.choose(lost, GameBoard.WHITE, random));
+        assertNull(book.choose(new Board(SIZE), GameBoard.BLACK, random));
+        assertNull(book.choose(new Board(SIZE + 1), GameBoard.BLACK, random));
+    }
+
+    // The stones of STONES, Black and White in turn, in one of 8 orientations.
+    private static Board orient(int orientation) {
+        Board board = new Board(SIZE);
+        for (int i = 0; i < STONES.length; i++) {
+            int[] cell = orient(orientation, STONES[i][0], STONES[i][1]);
+            board.placeSymbol(cell[0], cell[1], i % 2 == 0 ? GameBoard.BLACK : GameBoard.WHITE);
+        }
+        return board;
+    }
+
+    private static String layout(Board board) {
+        StringBuilder cells = new StringBuilder();
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                cells.append(board.getSymbolAt(r, c));
+            }
+        }
+        return cells.toString();
+    }
+
+    // Orientations 0-3 turn the board a quarter clockwise each; 4-7 mirror it left to right first.
+    private static int[] orient(int orientation, int row, int col) {
+        if (orientation >= 4) col = SIZE - 1 - col;
+        for (int turn = 0; turn < orientation % 4; turn++) {
+            int t = row;
+            row = col;
+            col = SIZE - 1 - t;
+        }
+        return new int[] {row, col};
+    }
+}
@@ -0,0 +1,306 @@
+package com.example.gomoku.ai;
+
+import com.example.gomoku.model.Board;
+import com.example.gomoku.model.GameBoard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Threat positions on 15x15, X to move against O. A reported win skips the full search, so
+// every win is replayed against a plain VCF check that tries all cells, and every refutation
+// is checked to be one only because of the defender's stones.
+class ThreatSpaceSearchTest {
+    private static final int SIZE = 15;
+    private static final char X = GameBoard.BLACK;
+    private static final char O = GameBoard.WHITE;
+
+    // Row 7 and column 7 each hold three X blocked at one end: (7,7) makes two fours.
+    private static final String[] DOUBLE_FOUR = {
+        "...............",
+        "...............",
+        "...............",
+        ".......O.......",
+        ".......X.......",
+        ".......X.......",
+        ".......X.......",
+        "...OXXX........",
+        "...............",
+        "...............",
+        "...............",
+        "...............",
+        "...............",
+        "...............",
+        "...............",
+    };
+
+    // A four on row 7 at (7,6) forces (7,7); then (8,6) makes fours on column 6 and row 8.
+    // Or the other way round, starting with the four on row 8.
+    private static final String[] TWO_STEP_VCF = {
+        "...............",
+        "...............",
+        "...............",
+        "...............",
+        "...............",
+        "...............",
+        "...............",
+        "..OXXX.........",
+        ".......XXXO....",
+        "......X........",
+        "......X........",
+        "......O........",
+        "...............",
+        "...............",
+        "...............",
+    };
+
+    // As TWO_STEP_VCF, but O stones on columns 5 and 7 turn each forced block into a four of
+    // O's, so the attacker loses the initiative whichever four comes first. O on (6,3) and
+    // (10,7) closes the diagonal that (8,5) would otherwise open.
+    private static final String[] TWO_STEP_VCF_COUNTERED = {
+        "...............",
+        "...............",
+        "...............",
+        ".......O.......",
+        ".......O.......",
+        ".......O.......",
+        "...O...........",
+        "..OXXX.........",
+        ".......XXXO....",
+        ".....OX........",
+        ".....OXO.......",
+        ".....OO........",
+        "...............",
+        "...............",
+        "...............",
+    };
+
+    // Two twos crossing at (7,7): it makes two open threes, only one of which can be blocked.
+    // O on (6,6) keeps the twos from also meeting on a diagonal.
+    private static final String[] DOUBLE_THREE = {
+        "...............",
+        "...............",
+        ".......O.......",
+        "...............",
+        "...............",
+        ".......X.......",
+        "......OX.......",
+        "..O..XX...O....",
+        "...............",
+        "...............",
+        ".......O.......",
+        "...............",
+        "...............",
+        "...............",
+        "...............",
+    };
+
+    // As DOUBLE_THREE, but O can answer at (7,4) with a four that also blocks the row.
+    private static final String[] DOUBLE_THREE_COUNTERED = {
+        "...............",
+        "...............",
+        ".......O.......",
+        "....X..........",
+        "....O..........",
+        "....O..X.......",
+        "....O.OX.......",
+        "..O..XX...O....",
+        "...............",
+        "...............",
+        ".......O.......",
+        "...............",
+        "...............",
+        "...............",
+        "...............",
+    };
+
+    @Test
+    void findsADoubleFour() {
+        Board board = parse(DOUBLE_FOUR);
+        int move = new ThreatSpaceSearch().findWin(board, X, O);
+        assertEquals(7 * SIZE + 7, move);
+        assertTrue(winsByFours(board, move, X, O, 1));
+    }
+
+    @Test
+    void findsATwoStepVcf() {
+        Board board = parse(TWO_STEP_VCF);
+        int move = vcf(board);
+        assertTrue(move == 7 * SIZE + 6 || move == 7 * SIZE + 7 || move == 8 * SIZE + 6 || move == 8 * SIZE + 5, "first move " + move);
+        assertTrue(winsByFours(board, move, X, O, ThreatSpaceSearch.DEFAULT_VCF_DEPTH));
+        assertFalse(hasVcf(board, X, O, 1), "the win needs more than one four");
+    }
+
+    @Test
+    void counterFoursRefuteTheVcf() {
+        Board board = parse(TWO_STEP_VCF_COUNTERED);
+        assertTrue(hasVcfIgnoringDefender(board, X, O, ThreatSpaceSearch.DEFAULT_VCF_DEPTH), "X has fours that would win without O's counters");
+        assertFalse(hasVcf(board, X, O, ThreatSpaceSearch.DEFAULT_VCF_DEPTH));
+        assertEquals(ThreatSpaceSearch.NO_MOVE, vcf(board));
+    }
+
+    @Test
+    void findsADoubleThree() {
+        Board board = parse(DOUBLE_THREE);
+        assertFalse(hasVcf(board, X, O, ThreatSpaceSearch.DEFAULT_VCF_DEPTH), "X has no four to start with");
+        int move = new ThreatSpaceSearch().findWin(board, X, O);
+        assertEquals(7 * SIZE + 7, move);
+        assertTrue(winsByThree(board, move, X, O));
+    }
+
+    @Test
+    void counterFourRefutesTheDoubleThree() {
+        Board board = parse(DOUBLE_THREE_COUNTERED);
+        assertFalse(winsByThree(board, 7 * SIZE + 7, X, O));
+        assertEquals(ThreatSpaceSearch.NO_MOVE, new ThreatSpaceSearch().findWin(board, X, O));
+    }
+
+    // X's double four is worthless while O already has a four: O completes five first.
+    @Test
+    void defenderFiveRefutesTheDoubleFour() {
+        Board board = parse(DOUBLE_FOUR);
+        for (int col = 1; col <= 4; col++) {
+            board.placeSymbol(13, col, O);
+        }
+        board.placeSymbol(13, 0, X);
+        assertFalse(winsByFours(board, 7 * SIZE + 7, X, O, 1));
+        assertFalse(hasVcf(board, X, O, ThreatSpaceSearch.DEFAULT_VCF_DEPTH));
+        assertEquals(ThreatSpaceSearch.NO_MOVE, new ThreatSpaceSearch().findWin(board, X, O));
+    }
+
+    private static int vcf(Board board) {
+        IncrementalEvaluator evaluator = new IncrementalEvaluator(board);
+        board.addListener(evaluator);
+        try {
+            return new ThreatSpaceSearch().findVcf(board, evaluator, X, O, ThreatSpaceSearch.DEFAULT_VCF_DEPTH, ThreatSpaceSearch.DEFAULT_NODE_LIMIT);
+        } finally {
+            evaluator.detach();
+        }
+    }
+
+    // The reference below walks cells directly and shares no code with the search.
+
+    private static boolean hasVcf(Board board, char attacker, char defender, int depth) {
+        return attackerWins(board, attacker, defender, depth, false);
+    }
+
+    private static boolean hasVcfIgnoringDefender(Board board, char attacker, char defender, int depth) {
+        return attackerWins(board, attacker, defender, depth, true);
+    }
+
+    // Attacker to move wins by continuous fours within depth fours. O's fives and fours are
+    // taken into account unless ignoreDefender is set.
+    private static boolean attackerWins(Board board, char attacker, char defender, int depth, boolean ignoreDefender) {
+        if (!fiveCells(board, attacker).isEmpty()) return true;
+        List<Integer> candidates;
+        List<Integer> threats = ignoreDefender ? new ArrayList<>() : fiveCells(board, defender);
+        if (threats.size() >= 2) return false;
+        if (threats.size() == 1) candidates = threats;
+        else candidates = fourCells(board, attacker);
+        if (depth == 0) return false;
+        for (int move : candidates) {
+            if (playFour(board, move, attacker, defender, depth, ignoreDefender)) return true;
+        }
+        return false;
+    }
+
+    private static boolean winsByFours(Board board, int move, char attacker, char defender, int depth) {
+        if (!fiveCells(board, defender).isEmpty() && !fiveCells(board, defender).contains(move)) return false;
+        return playFour(board, move, attacker, defender, depth, false);
+    }
+
+    // The attacker plays move, which has to threaten five. A defender who can make five does;
+    // otherwise a single threat is blocked and the attacker goes on.
+    private static boolean playFour(Board board, int move, char attacker, char defender, int depth, boolean ignoreDefender) {
+        board.placeSymbol(move / SIZE, move % SIZE, attacker);
+        try {
+            List<Integer> wins = fiveCells(board, attacker);
+            if (wins.isEmpty()) return false;
+            if (!ignoreDefender && !fiveCells(board, defender).isEmpty()) return false;
+            if (wins.size() >= 2) return true;
+            int block = wins.get(0);
+            board.placeSymbol(block / SIZE, block % SIZE, defender);
+            try {
+                return attackerWins(board, attacker, defender, depth - 1, ignoreDefender);
+            } finally {
+                board.setSymbolAt(block / SIZE, block % SIZE, GameBoard.EMPTY);
+            }
+        } finally {
+            board.setSymbolAt(move / SIZE, move % SIZE, GameBoard.EMPTY);
+        }
+    }
+
+    // After the attacker's three at move, every defender reply anywhere on the board still
+    // loses to continuous fours.
+    private static boolean winsByThree(Board board, int move, char attacker, char defender) {
+        board.placeSymbol(move / SIZE, move % SIZE, attacker);
+        try {
+            for (int reply = 0; reply < SIZE * SIZE; reply++) {
+                if (!board.isValidMove(reply / SIZE, reply % SIZE)) continue;
+                board.placeSymbol(reply / SIZE, reply % SIZE, defender);
+                boolean won = attackerWins(board, attacker, defender, 3, false);
+                board.setSymbolAt(reply / SIZE, reply % SIZE, GameBoard.EMPTY);
+                if (!won) return false;
+            }
+            return true;
+        } finally {
+            board.setSymbolAt(move / SIZE, move % SIZE, GameBoard.EMPTY);
+        }
+    }
+
+    // Empty cells where player would make five or more in a row.
+    private static List<Integer> fiveCells(Board board, char player) {
+        List<Integer> cells = new ArrayList<>();
+        for (int cell = 0; cell < SIZE * SIZE; cell++) {
+            if (board.isValidMove(cell / SIZE, cell % SIZE) && makesFive(board, cell / SIZE, cell % SIZE, player)) cells.add(cell);
+        }
+        return cells;
+    }
+
+    // Empty cells after which player could make five.
+    private static List<Integer> fourCells(Board board, char player) {
+        List<Integer> cells = new ArrayList<>();
+        for (int cell = 0; cell < SIZE * SIZE; cell++) {
+            if (!board.isValidMove(cell / SIZE, cell % SIZE)) continue;
+            board.placeSymbol(cell / SIZE, cell % SIZE, player);
+            if (!fiveCells(board, player).isEmpty()) cells.add(cell);
+            board.setSymbolAt(cell / SIZE, cell % SIZE, GameBoard.EMPTY);
+        }
+        return cells;
+    }
+
+    private static boolean makesFive(Board board, int row, int col, char player) {
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        for (int[] d : directions) {
+            int count = 1;
+            for (int sign = -1; sign <= 1; sign += 2) {
+                int r = row + sign * d[0];
+                int c = col + sign * d[1];
+                while (r >= 0 && c >= 0 && r < SIZE && c < SIZE && board.getSymbolAt(r, c) == player) {
+                    count++;
+                    r += sign * d[0];
+                    c += sign * d[1];
+                }
+            }
+            if (count >= 5) return true;
+        }
+        return false;
+    }
+
+    private static Board parse(String[] rows) {
+        Board board = new Board(SIZE);
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                char symbol = rows[r].charAt(c);
+                if (symbol == 'X') board.placeSymbol(r, c, X);
+                else if (symbol == 'O') board.placeSymbol(r, c, O);
+            }
+        }
+        return board;
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.gomoku.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Many clients play at once against a server with one engine thread and a short queue, so
+// most moves are refused at first and retried as a client would after a 503.
+class GameServerTest {
+    private static final int SESSIONS = 200;
+    private static final int MOVES = 2;
+    private static final int SIZE = 15;
+    private static final long RETRY_MS = 20;
+    private static final Pattern ID = Pattern.compile("\"id\":\"(\\w+)\"");
+    private static final Pattern AI_MOVE = Pattern.compile("\"ai\":\\{\"row\":(\\d+),\"col\":(\\d+)\\}");
+
+    private GameServer server;
+    private JsonHttp http;
+    private final Queue<String> failures = new ConcurrentLinkedQueue<>();
+    private final AtomicLong moves = new AtomicLong();
+    private final AtomicLong busy = new AtomicLong();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new GameServer(0, 1, 2, 64);
+        server.start();
+        http = new JsonHttp("http://localhost:" + server.getPort());
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    void servesConcurrentSessionsUnderOverload() throws Exception {
+        CountDownLatch go = new CountDownLatch(1);
+        List<Thread> clients = new ArrayList<>();
+        for (int i = 0; i < SESSIONS; i++) {
+            int seed = i;
+            Thread t = new Thread(() -> {
+                try {
+                    go.await();
+                    play(seed);
+                } catch (Exception e) {
+                    failures.add("client " + seed + ": " + e);
+                }
+            }, "Client-" + i);
+            clients.add(t);
+            t.start();
+        }
+        go.countDown();
+        for (Thread t : clients) {
+            t.join();
+        }
+
+        assertTrue(failures.isEmpty(), failures.size() + " failures, first " + failures.peek());
+        assertEquals(SESSIONS * MOVES, moves.get());
+        assertTrue(busy.get() > 0, "the engine queue never filled");
+        JsonHttp.Response metrics = http.request("GET", "/metrics");
+        assertEquals(200, metrics.status);
+        assertTrue(metrics.body.contains("\"sessions\":0,"), metrics.body);
+        assertTrue(metrics.body.contains("\"moves\":" + moves.get() + ","), metrics.body);
+        assertTrue(metrics.body.contains("\"rejected\":" + busy.get() + "}"), metrics.body);
+    }
+
+    @Test
+    void rejectsBadRequests() throws Exception {
+        assertEquals(404, http.request("GET", "/games/nosuchgame").status);
+        assertEquals(400, http.request("POST", "/games?size=abc").status);
+        JsonHttp.Response created = http.request("POST", "/games?size=" + SIZE);
+        Matcher id = ID.matcher(created.body);
+        assertTrue(id.find(), created.body);
+        String game = "/games/" + id.group(1);
+        assertEquals(400, http.request("POST", game + "/move?row=" + SIZE + "&col=0").status);
+        assertEquals(400, http.request("POST", game + "/move?row=0").status);
+        assertEquals(204, http.request("DELETE", game).status);
+        assertEquals(404, http.request("GET", game).status);
+    }
+
+    // The first move is next to the centre and each later one next to the AI's reply, which
+    // must be on an empty cell; the server's board must match the client's at the end.
+    private void play(int seed) throws IOException, InterruptedException {
+        JsonHttp.Response created = http.request("POST", "/games?size=" + SIZE);
+        Matcher id = ID.matcher(created.body);
+        if (created.status != 201 || !id.find()) {
+            failures.add("create: " + created.status + " " + created.body);
+            return;
+        }
+        String game = "/games/" + id.group(1);
+        char[][] board = new char[SIZE][SIZE];
+        for (char[] row : board) {
+            Arrays.fill(row, '.');
+        }
+        int[] cell = {SIZE / 2, SIZE / 2 + seed % 3 - 1};
+        for (int i = 0; i < MOVES; i++) {
+            JsonHttp.Response reply = move(game, cell);
+            if (reply.status != 200) {
+                failures.add("move: " + reply.status + " " + reply.body);
+                return;
+            }
+            moves.incrementAndGet();
+            board[cell[0]][cell[1]] = 'B';
+            Matcher ai = AI_MOVE.matcher(reply.body);
+            if (!ai.find()) {
+                failures.add("no AI move: " + reply.body);
+                return;
+            }
+            int row = Integer.parseInt(ai.group(1));
+            int col = Integer.parseInt(ai.group(2));
+            if (board[row][col] != '.') {
+                failures.add("AI played on " + row + "," + col + " which is taken");
+                return;
+            }
+            board[row][col] = 'W';
+            cell = emptyNeighbour(board, row, col);
+        }
+
+        // Refused before the engine is asked, so never a 503.
+        int[] taken = findStone(board);
+        JsonHttp.Response illegal = http.request("POST", game + "/move?row=" + taken[0] + "&col=" + taken[1]);
+        if (illegal.status != 409) failures.add("occupied cell answered " + illegal.status);
+
+        JsonHttp.Response state = http.request("GET", game);
+        for (char[] row : board) {
+            if (!state.body.contains("\"" + new String(row) + "\"")) {
+                failures.add("board differs: " + state.body);
+                return;
+            }
+        }
+        if (http.request("DELETE", game).status != 204) failures.add("delete failed");
+    }
+
+    // Retries after a 503, which must carry a Retry-After header.
+    private JsonHttp.Response move(String game, int[] cell) throws IOException, InterruptedException {
+        while (true) {
+            JsonHttp.Response reply = http.request("POST", game + "/move?row=" + cell[0] + "&col=" + cell[1] + "&ms=10&nodes=500");
+            if (reply.status != 503) return reply;
+            if (reply.retryAfter == null) failures.add("503 without Retry-After");
+            busy.incrementAndGet();
+            Thread.sleep(RETRY_MS);
+        }
+    }
+
+    private static int[] emptyNeighbour(char[][] board, int row, int col) {
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                int r = row + dr;
+                int c = col + dc;
+                if (r >= 0 && c >= 0 && r < SIZE && c < SIZE && board[r][c] == '.') return new int[] {r, c};
+            }
+        }
+        throw new IllegalStateException("no empty neighbour of " + row + "," + col);
+    }
+
+    private static int[] findStone(char[][] board) {
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                if (board[r][c] != '.') return new int[] {r, c};
+            }
+        }
+        throw new IllegalStateException("empty board");
+    }
+}